@@ -0,0 +1,123 @@
+package datastructures;
+
+import datastructures.set.SortedSequenceSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A batch of {BATCH} random keys looked up in a sorted array or a {@link SortedSequenceSet}, results are per key.
+ * <p>
+ * ONE_BY_ONE is a search per key, INTERLEAVED searches the batch as it comes in lockstep, SORTED_MERGED gets the
+ * batch already sorted (a single galloping pass), SORT_THEN_MERGED pays for sorting a copy of the batch first.
+ * A new batch is drawn before every invocation, outside the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BatchSearchBenchmark {
+
+    private static final int BATCH = 4096;
+
+    public enum Strategy {
+        ONE_BY_ONE,
+        INTERLEAVED,
+        SORTED_MERGED,
+        SORT_THEN_MERGED
+    }
+
+    @Param({"1000000", "16000000"})
+    int size;
+
+    @Param
+    Strategy strategy;
+
+    private int[] sorted;
+    private SortedSequenceSet<Integer> set;
+    private final Random random = new Random(1);
+    private int[] probes;
+    private Integer[] boxedProbes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sorted = new int[size];
+        Integer[] boxed = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = 2 * i;
+            boxed[i] = 2 * i;
+        }
+        set = new SortedSequenceSet<>(boxed);
+        probes = new int[BATCH];
+        boxedProbes = new Integer[BATCH];
+    }
+
+    @Setup(Level.Invocation)
+    public void batch() {
+        for (int i = 0; i < BATCH; i++) {
+            probes[i] = random.nextInt(2 * size);
+        }
+        if (strategy == Strategy.SORTED_MERGED) {
+            Arrays.sort(probes);
+        }
+        for (int i = 0; i < BATCH; i++) {
+            boxedProbes[i] = probes[i];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int[] array() {
+        return switch (strategy) {
+            case ONE_BY_ONE -> {
+                int[] result = new int[BATCH];
+                for (int i = 0; i < BATCH; i++) {
+                    result[i] = BinarySearch.lowerBound(sorted, probes[i]);
+                }
+                yield result;
+            }
+            case INTERLEAVED, SORTED_MERGED -> BinarySearch.lowerBounds(sorted, probes);
+            case SORT_THEN_MERGED -> {
+                int[] batch = probes.clone();
+                MergeSort.radixSort(batch);
+                yield BinarySearch.lowerBounds(sorted, batch);
+            }
+        };
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int[] set() {
+        return switch (strategy) {
+            case ONE_BY_ONE -> {
+                int[] result = new int[BATCH];
+                for (int i = 0; i < BATCH; i++) {
+                    result[i] = set.contains(boxedProbes[i]) ? 1 : 0;
+                }
+                yield result;
+            }
+            case INTERLEAVED, SORTED_MERGED -> set.indexesOf(boxedProbes);
+            case SORT_THEN_MERGED -> {
+                Integer[] batch = boxedProbes.clone();
+                TimSort.sort(batch);
+                yield set.indexesOf(batch);
+            }
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package datastructures;
+
+import datastructures.sequence.DoubleEdgedLinearSequence;
+import datastructures.sequence.LinkedSequence;
+import datastructures.sequence.Sequence;
+import datastructures.sequence.UnrolledLinkedSequence;
+import datastructures.set.IntOpenAddressedHashSet;
+import datastructures.set.LongOpenAddressedHashSet;
+import datastructures.set.SetImplementation;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.function.IntFunction;
+
+/**
+ * Retained heap of each structure holding the same keys, keys included.
+ * Boxed structures pay for their Integer objects, primitive ones don't have any.
+ */
+public class Footprint {
+
+    private static final int[] SIZES = new int[]{1_000, 100_000, 1_000_000};
+
+    public static void main(String[] args) {
+        System.out.printf("%-28s %12s %16s %14s%n", "structure", "elements", "bytes", "bytes/element");
+
+        for (int size : SIZES) {
+            for (SetImplementation implementation : SetImplementation.values()) {
+                print(implementation.name(), size, n -> implementation.create(KeyDistribution.UNIFORM.keys(0, n)));
+            }
+
+            print("INT_OPEN_ADDRESSED_HASH", size, n -> {
+                IntOpenAddressedHashSet set = new IntOpenAddressedHashSet();
+                for (int i = 0; i < n; i++) {
+                    set.add(KeyDistribution.UNIFORM.key(i));
+                }
+                return set;
+            });
+
+            print("LONG_OPEN_ADDRESSED_HASH", size, n -> {
+                LongOpenAddressedHashSet set = new LongOpenAddressedHashSet();
+                for (int i = 0; i < n; i++) {
+                    set.add(KeyDistribution.UNIFORM.key(i));
+                }
+                return set;
+            });
+
+            print("LINKED_SEQUENCE", size, n -> fill(new LinkedSequence<>(), n));
+            print("DOUBLE_EDGED_SEQUENCE", size, n -> fill(new DoubleEdgedLinearSequence<>(), n));
+            print("UNROLLED_SEQUENCE", size, n -> fill(new UnrolledLinkedSequence<>(), n));
+        }
+    }
+
+    private static Sequence<Integer> fill(Sequence<Integer> sequence, int size) {
+        for (int i = 0; i < size; i++) {
+            sequence.insertLast(KeyDistribution.UNIFORM.key(i));
+        }
+        return sequence;
+    }
+
+    private static void print(String name, int size, IntFunction<Object> factory) {
+        long bytes = GraphLayout.parseInstance(factory.apply(size)).totalSize();
+        System.out.printf("%-28s %12d %16d %14.1f%n", name, size, bytes, (double) bytes / size);
+    }
+}
@@ -0,0 +1,106 @@
+package datastructures;
+
+import java.util.Random;
+
+/**
+ * How keys (and the probes that look them up) are spread.
+ * <p>
+ * Every distribution hands out distinct keys, so the first `size` keys can be
+ * loaded into a set and the next `size` are guaranteed misses.
+ */
+public enum KeyDistribution {
+
+    /**
+     * Keys are scrambled all over the int range and probed uniformly.
+     */
+    UNIFORM {
+        @Override
+        public int key(int i) {
+            // multiplication by an odd constant is a bijection on int, so keys never repeat
+            return i * 0x9E3779B9;
+        }
+
+        @Override
+        public int probe(Random random, int size) {
+            return random.nextInt(size);
+        }
+    },
+
+    /**
+     * Dense, sequential keys (think auto-increment ids) where a few of them
+     * receive most of the lookups (cubic bias towards the lowest indexes).
+     */
+    SKEWED {
+        @Override
+        public int key(int i) {
+            return i;
+        }
+
+        @Override
+        public int probe(Random random, int size) {
+            double r = random.nextDouble();
+            return (int) (r * r * r * size);
+        }
+    },
+
+    /**
+     * Keys spaced by a large power of two, so `hash % capacity` sends all of them
+     * to the same slot until the table becomes huge. This is the worst case for
+     * the hash sets, and the best case for nobody.
+     */
+    ADVERSARIAL {
+        @Override
+        public int key(int i) {
+            // i << 16 for the first 65536 keys, but a rotation never repeats (a shift overflows back to 0):
+            // the high half of i ends up in the low bits, so past 65536 keys they still collide in groups
+            return Integer.rotateLeft(i, 16);
+        }
+
+        @Override
+        public int probe(Random random, int size) {
+            return random.nextInt(size);
+        }
+    };
+
+    /**
+     * Amount of pre-computed probe positions, power of two so cycling is a mask
+     */
+    public static final int PROBES = 1 << 16;
+
+    /**
+     * @return i-th distinct key
+     */
+    public abstract int key(int i);
+
+    /**
+     * @return index in [0, size) of the key to look up next
+     */
+    public abstract int probe(Random random, int size);
+
+    /**
+     * O(n)
+     *
+     * @return keys [from, from + count)
+     */
+    public Integer[] keys(int from, int count) {
+        Integer[] keys = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = key(from + i);
+        }
+        return keys;
+    }
+
+    /**
+     * O(PROBES)
+     *
+     * @return {PROBES} indexes in [0, size) following this distribution
+     */
+    public int[] probes(int size, long seed) {
+        Random random = new Random(seed);
+        int[] probes = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = probe(random, size);
+        }
+        return probes;
+    }
+}
@@ -0,0 +1,82 @@
+package datastructures;
+
+import datastructures.sequence.DoubleEdgedLinearSequence;
+import datastructures.set.AVLTreeSet;
+import datastructures.set.ChainHashSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Sum of the even values, sequential vs parallel streams, to see how well each spliterator splits.
+ * <p>
+ * The speedup is bounded by the cores of the box (ForkJoinPool.commonPool), on a single core
+ * parallel is just overhead. Pin the pool with `-Djava.util.concurrent.ForkJoinPool.common.parallelism=N`
+ * to draw the speedup curve.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelStreamBenchmark {
+
+    public enum Source {
+        AVL_TREE_SET(keys -> {
+            AVLTreeSet<Integer> set = new AVLTreeSet<>(keys);
+            return parallel -> parallel ? set.parallelStream() : set.stream();
+        }),
+        CHAIN_HASH_SET(keys -> {
+            ChainHashSet<Integer> set = new ChainHashSet<>(keys);
+            return parallel -> parallel ? set.parallelStream() : set.stream();
+        }),
+        DOUBLE_EDGED_SEQUENCE(keys -> {
+            DoubleEdgedLinearSequence<Integer> sequence = new DoubleEdgedLinearSequence<>(keys);
+            return parallel -> parallel ? sequence.parallelStream() : sequence.stream();
+        });
+
+        private final Function<Integer[], Function<Boolean, Stream<Integer>>> factory;
+
+        Source(Function<Integer[], Function<Boolean, Stream<Integer>>> factory) {
+            this.factory = factory;
+        }
+    }
+
+    @Param({"1000000"})
+    int size;
+
+    @Param
+    Source source;
+
+    @Param({"false", "true"})
+    boolean parallel;
+
+    private Function<Boolean, Stream<Integer>> streams;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        streams = source.factory.apply(KeyDistribution.UNIFORM.keys(0, size));
+    }
+
+    @Benchmark
+    public long sumEven() {
+        return streams.apply(parallel)
+                .mapToLong(Integer::longValue)
+                .filter(value -> (value & 1) == 0)
+                .sum();
+    }
+}
@@ -0,0 +1,95 @@
+package datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boxed Integer[] against the primitive kernels, same values every time.
+ * <p>
+ * Results are per sort, divide by size for ns/element. The input is copied back before every
+ * invocation, outside the measurement. 100M boxed integers need ~3GB of heap, hence the fork args.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PrimitiveSortBenchmark {
+
+    public enum Kernel {
+        BOXED_MERGE_SORT,
+        BOXED_MERGE_SORT_BY_BOOK,
+        INT_MERGE_SORT,
+        INT_RADIX_SORT,
+        LONG_MERGE_SORT,
+        LONG_RADIX_SORT,
+        DOUBLE_MERGE_SORT,
+        INT_ARRAYS_SORT
+    }
+
+    @Param({"1000000", "10000000", "100000000"})
+    int size;
+
+    @Param
+    Kernel kernel;
+
+    private Object input;
+    private Object array;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int[] keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = KeyDistribution.UNIFORM.key(i);
+        }
+
+        input = switch (kernel) {
+            case BOXED_MERGE_SORT, BOXED_MERGE_SORT_BY_BOOK -> Arrays.stream(keys).boxed().toArray(Integer[]::new);
+            case INT_MERGE_SORT, INT_RADIX_SORT, INT_ARRAYS_SORT -> keys;
+            // spread over the high bits as well, otherwise radix skips half the passes
+            case LONG_MERGE_SORT, LONG_RADIX_SORT -> Arrays.stream(keys).mapToLong(key -> key * 0x9E3779B97F4A7C15L).toArray();
+            case DOUBLE_MERGE_SORT -> Arrays.stream(keys).mapToDouble(key -> key / 3.0).toArray();
+        };
+
+        array = switch (kernel) {
+            case BOXED_MERGE_SORT, BOXED_MERGE_SORT_BY_BOOK -> new Integer[size];
+            case INT_MERGE_SORT, INT_RADIX_SORT, INT_ARRAYS_SORT -> new int[size];
+            case LONG_MERGE_SORT, LONG_RADIX_SORT -> new long[size];
+            case DOUBLE_MERGE_SORT -> new double[size];
+        };
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        System.arraycopy(input, 0, array, 0, size);
+    }
+
+    @Benchmark
+    public Object sort() {
+        switch (kernel) {
+            case BOXED_MERGE_SORT -> MergeSort.sort((Integer[]) array);
+            case BOXED_MERGE_SORT_BY_BOOK -> MergeSort.sortByBook((Integer[]) array);
+            case INT_MERGE_SORT -> MergeSort.sort((int[]) array);
+            case INT_RADIX_SORT -> MergeSort.radixSort((int[]) array);
+            case LONG_MERGE_SORT -> MergeSort.sort((long[]) array);
+            case LONG_RADIX_SORT -> MergeSort.radixSort((long[]) array);
+            case DOUBLE_MERGE_SORT -> MergeSort.sort((double[]) array);
+            case INT_ARRAYS_SORT -> Arrays.sort((int[]) array);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,102 @@
+package datastructures;
+
+import datastructures.sequence.DoubleEdgedLinearSequence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single lookup in a sorted array of `size` ints, the current searches against the lower bounds.
+ * <p>
+ * Sizes go from L1 resident (1K ints, 4KB) through L2 and L3 to far larger than any cache (16M ints, 64MB,
+ * boxed it's way more). Values are the even numbers, probes are random over the whole range so half of them miss,
+ * and there are many more probes than cache lines so they don't stay cached between lookups.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SearchBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    public enum Search {
+        SEARCH_SEQUENCE,
+        FIND_INDEX_TO_STAY_SORTED,
+        SEARCH_BOXED,
+        LOWER_BOUND_BOXED,
+        LOWER_BOUND_INT,
+        EYTZINGER,
+        ARRAYS_BINARY_SEARCH
+    }
+
+    @Param({"1000", "32000", "1000000", "16000000"})
+    int size;
+
+    @Param
+    Search search;
+
+    private int[] sorted;
+    private Integer[] boxed;
+    private DoubleEdgedLinearSequence<Integer> sequence;
+    private BinarySearch.Eytzinger eytzinger;
+    private int[] probes;
+    private Integer[] boxedProbes;
+    private int next;
+
+    @Setup
+    public void setup() {
+        sorted = new int[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = 2 * i;
+        }
+
+        switch (search) {
+            case SEARCH_SEQUENCE, FIND_INDEX_TO_STAY_SORTED -> sequence = new DoubleEdgedLinearSequence<>(boxed());
+            case SEARCH_BOXED, LOWER_BOUND_BOXED -> boxed = boxed();
+            case EYTZINGER -> eytzinger = new BinarySearch.Eytzinger(sorted);
+            default -> {
+            }
+        }
+
+        Random random = new Random(size);
+        probes = new int[PROBES];
+        boxedProbes = new Integer[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = random.nextInt(2 * size);
+            boxedProbes[i] = probes[i];
+        }
+    }
+
+    private Integer[] boxed() {
+        return Arrays.stream(sorted).boxed().toArray(Integer[]::new);
+    }
+
+    @Benchmark
+    public int lookup() {
+        int i = next++ & (PROBES - 1);
+        return switch (search) {
+            case SEARCH_SEQUENCE -> BinarySearch.search(sequence, boxedProbes[i]);
+            case FIND_INDEX_TO_STAY_SORTED -> BinarySearch.findIndexToStaySorted(sequence, boxedProbes[i]).index();
+            case SEARCH_BOXED -> BinarySearch.search(boxed, boxedProbes[i]);
+            case LOWER_BOUND_BOXED -> BinarySearch.lowerBound(boxed, boxedProbes[i]);
+            case LOWER_BOUND_INT -> BinarySearch.lowerBound(sorted, probes[i]);
+            case EYTZINGER -> eytzinger.lowerBound(probes[i]);
+            case ARRAYS_BINARY_SEARCH -> Arrays.binarySearch(sorted, probes[i]);
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package datastructures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Sorting the same Integer[] with every algorithm, JDK ones included as baseline.
+ * <p>
+ * The input is shuffled, already sorted, or sorted with 1% of the values out of place
+ * (appended timestamps arriving late), the last two are where adaptive sorts shine.
+ * The input is copied back before every invocation, outside the measurement.
+ * gc.alloc.rate.norm is the garbage of a single sort, for merge sorts it should be the buffer of n.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortBenchmark {
+
+    public enum Algorithm {
+        MERGE_SORT(MergeSort::sort),
+        MERGE_SORT_BY_BOOK(MergeSort::sortByBook),
+        TIM_SORT(TimSort::sort),
+        PARALLEL_MERGE_SORT(ParallelMergeSort::sort),
+        ARRAYS_SORT(Arrays::sort),
+        ARRAYS_PARALLEL_SORT(Arrays::parallelSort);
+
+        private final Consumer<Integer[]> sort;
+
+        Algorithm(Consumer<Integer[]> sort) {
+            this.sort = sort;
+        }
+    }
+
+    public enum Order {
+        SHUFFLED,
+        SORTED,
+        NEARLY_SORTED
+    }
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    @Param
+    Algorithm algorithm;
+
+    @Param
+    Order order;
+
+    private Integer[] input;
+    private Integer[] array;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        input = KeyDistribution.UNIFORM.keys(0, size);
+        if (order != Order.SHUFFLED) {
+            Arrays.sort(input);
+        }
+        if (order == Order.NEARLY_SORTED) {
+            Random random = new Random(size);
+            for (int i = 0; i < size / 100; i++) {
+                int from = random.nextInt(size);
+                int to = Math.min(size - 1, from + random.nextInt(1_000));
+                Integer swap = input[from];
+                input[from] = input[to];
+                input[to] = swap;
+            }
+        }
+        array = new Integer[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        System.arraycopy(input, 0, array, 0, size);
+    }
+
+    @Benchmark
+    public Integer[] sort() {
+        algorithm.sort.accept(array);
+        return array;
+    }
+}
@@ -0,0 +1,78 @@
+package datastructures.map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency of a single {@link ChainHashMap#add} while the map keeps growing, to compare
+ * rehashing all at once against migrating a few buckets per operation.
+ * <p>
+ * Sample mode, so the interesting part of the output is the percentiles (p0.99, p0.9999, p1.0).
+ * The map is filled up to `size` entries and started over, every resize on the way is measured.
+ * The heap is fixed and big enough for the young generation to absorb the chain nodes, otherwise
+ * GC pauses hide what the resize itself costs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Xmn1500m"})
+public class ResizeLatencyBenchmark {
+
+    public enum Resize {
+        STOP_THE_WORLD(ChainHashMap::new),
+        INCREMENTAL(ChainHashMap::withIncrementalResize);
+
+        private final Supplier<ChainHashMap<Integer, Integer>> factory;
+
+        Resize(Supplier<ChainHashMap<Integer, Integer>> factory) {
+            this.factory = factory;
+        }
+    }
+
+    @Param({"1000000", "4000000"})
+    int size;
+
+    @Param
+    Resize resize;
+
+    private ChainHashMap<Integer, Integer> map;
+    private Integer[] keys;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        keys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i * 0x9E3779B9;
+        }
+        map = resize.factory.get();
+    }
+
+    @Benchmark
+    public ChainHashMap<Integer, Integer> add() {
+        if (cursor == size) {
+            // starting over is O(1), the new map has the default capacity
+            map = resize.factory.get();
+            cursor = 0;
+        }
+
+        Integer key = keys[cursor++];
+        map.add(key, key);
+        return map;
+    }
+}
@@ -0,0 +1,111 @@
+package datastructures.sequence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Linked, array and unrolled sequences: building by insertLast, a full scan, at(i) on random
+ * positions, and an insertAt + deleteAt in the middle
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequenceBenchmark {
+
+    public enum Implementation {
+        LINKED(LinkedSequence::new),
+        DOUBLE_EDGED(DoubleEdgedLinearSequence::new),
+        UNROLLED(UnrolledLinkedSequence::new);
+
+        private final Supplier<Sequence<Integer>> factory;
+
+        Implementation(Supplier<Sequence<Integer>> factory) {
+            this.factory = factory;
+        }
+
+        Sequence<Integer> create() {
+            return factory.get();
+        }
+    }
+
+    private static final int POSITIONS = 1 << 10;
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param
+    Implementation implementation;
+
+    private Sequence<Integer> sequence;
+    private final int[] positions = new int[POSITIONS];
+    private int next;
+    private final Integer value = 42;
+
+    @Setup
+    public void setup() {
+        sequence = implementation.create();
+        for (int i = 0; i < size; i++) {
+            sequence.insertLast(i);
+        }
+
+        Random random = new Random(size);
+        for (int i = 0; i < POSITIONS; i++) {
+            positions[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public Sequence<Integer> insertLast() {
+        Sequence<Integer> built = implementation.create();
+        for (int i = 0; i < size; i++) {
+            built.insertLast(value);
+        }
+        return built;
+    }
+
+    /**
+     * Iterator when the sequence has one, at(i) over every position otherwise
+     */
+    @Benchmark
+    public long scan() {
+        long sum = 0;
+        if (sequence instanceof Iterable<?> iterable) {
+            for (Object i : iterable) {
+                sum += (Integer) i;
+            }
+            return sum;
+        }
+
+        for (int i = 0; i < sequence.size(); i++) {
+            sum += sequence.at(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Integer at() {
+        return sequence.at(positions[next++ & (POSITIONS - 1)]);
+    }
+
+    @Benchmark
+    public Integer insertAtMiddle() {
+        sequence.insertAt(size / 2, value);
+        return sequence.deleteAt(size / 2);
+    }
+}
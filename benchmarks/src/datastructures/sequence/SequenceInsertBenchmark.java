@@ -0,0 +1,64 @@
+package datastructures.sequence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An insertAt followed by a deleteAt at the same position, so the size stays the same,
+ * near the head (1/16 in), in the middle and near the tail (1/16 from the end).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequenceInsertBenchmark {
+
+    public enum Position {
+        NEAR_HEAD,
+        MIDDLE,
+        NEAR_TAIL
+    }
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    @Param
+    Position position;
+
+    private DoubleEdgedLinearSequence<Integer> sequence;
+    private int at;
+    private final Integer value = 42;
+
+    @Setup
+    public void setup() {
+        sequence = new DoubleEdgedLinearSequence<>();
+        for (int i = 0; i < size; i++) {
+            sequence.insertLast(i);
+        }
+
+        at = switch (position) {
+            case NEAR_HEAD -> size / 16;
+            case MIDDLE -> size / 2;
+            case NEAR_TAIL -> size - size / 16;
+        };
+    }
+
+    @Benchmark
+    public Integer insertThenDelete() {
+        sequence.insertAt(at, value);
+        return sequence.deleteAt(at);
+    }
+}
@@ -0,0 +1,85 @@
+package datastructures.set;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk operations of {@link SortedSequenceSet}: loading sorted keys, merging in a second batch of keys
+ * (half of them new) at once or one add at a time, and set operations between two sets of `size`.
+ * <p>
+ * Every operation builds a new set, the old one is garbage, hence the heap.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class BulkSetBenchmark {
+
+    @Param({"100000", "10000000"})
+    int size;
+
+    private Integer[] sorted;
+    private Integer[] batch;
+    private SortedSequenceSet<Integer> left;
+    private SortedSequenceSet<Integer> right;
+
+    @Setup
+    public void setup() {
+        sorted = new Integer[size];
+        batch = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = 2 * i;
+            // half of them already there, shuffled a bit by the multiplier
+            batch[i] = (int) ((i * 0x9E3779B9L & 0x7FFFFFFFL) % (4L * size));
+        }
+        left = new SortedSequenceSet<>(sorted);
+        right = new SortedSequenceSet<>(batch);
+    }
+
+    @Benchmark
+    public SortedSequenceSet<Integer> load() {
+        return new SortedSequenceSet<>(sorted);
+    }
+
+    @Benchmark
+    public SortedSequenceSet<Integer> addAll() {
+        SortedSequenceSet<Integer> set = new SortedSequenceSet<>(sorted);
+        set.addAll(batch);
+        return set;
+    }
+
+    /**
+     * Only the first thousand of the batch, every add moves half the array
+     */
+    @Benchmark
+    public SortedSequenceSet<Integer> addThousandOneByOne() {
+        SortedSequenceSet<Integer> set = new SortedSequenceSet<>(sorted);
+        for (int i = 0; i < 1_000; i++) {
+            set.add(batch[i]);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public SortedSequenceSet<Integer> union() {
+        return left.union(right);
+    }
+
+    @Benchmark
+    public SortedSequenceSet<Integer> intersection() {
+        return left.intersection(right);
+    }
+}
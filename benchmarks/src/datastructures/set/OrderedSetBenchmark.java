@@ -0,0 +1,120 @@
+package datastructures.set;
+
+import datastructures.KeyDistribution;
+import datastructures.map.AVLTreeMap;
+import datastructures.map.BPlusTreeMap;
+import datastructures.map.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary AVL tree against the B+ tree: point lookups on the sets and maps, and range scans of
+ * {RANGE} values from a present key.
+ * <p>
+ * Both scan with their range iterator: the AVL tree walks node to node with next, the B+ tree along the leaves.
+ * 10M needs a few GB of heap for the AVL tree.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class OrderedSetBenchmark {
+
+    private static final int RANGE = 100;
+
+    public enum Implementation {
+        AVL_TREE,
+        B_PLUS_TREE
+    }
+
+    @State(Scope.Thread)
+    public static class Keys {
+        @Param({"1000000", "10000000"})
+        int size;
+
+        @Param
+        Implementation implementation;
+
+        Integer[] present;
+        int[] probes;
+        int cursor;
+
+        void load() {
+            present = KeyDistribution.UNIFORM.keys(0, size);
+            probes = KeyDistribution.UNIFORM.probes(size, 42);
+        }
+
+        Integer next() {
+            return present[probes[cursor++ & (KeyDistribution.PROBES - 1)]];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Sets extends Keys {
+        Set<Integer> set;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            load();
+            set = switch (implementation) {
+                case AVL_TREE -> new AVLTreeSet<>(present);
+                case B_PLUS_TREE -> new BPlusTreeSet<>(present);
+            };
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Maps extends Keys {
+        Map<Integer, Integer> map;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            load();
+            map = switch (implementation) {
+                case AVL_TREE -> new AVLTreeMap<>();
+                case B_PLUS_TREE -> new BPlusTreeMap<>();
+            };
+            for (Integer key : present) {
+                map.add(key, key);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean contains(Sets state) {
+        return state.set.contains(state.next());
+    }
+
+    @Benchmark
+    public Integer mapGet(Maps state) {
+        return state.map.get(state.next());
+    }
+
+    @Benchmark
+    public long rangeScan(Sets state) {
+        Integer from = state.next();
+        Iterator<Integer> range = state.set instanceof BPlusTreeSet<Integer> tree
+                ? tree.range(from, Integer.MAX_VALUE)
+                : ((AVLTreeSet<Integer>) state.set).range(from, Integer.MAX_VALUE);
+
+        long sum = 0;
+        for (int i = 0; i < RANGE && range.hasNext(); i++) {
+            sum += range.next();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,121 @@
+package datastructures.set;
+
+import datastructures.KeyDistribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boxed {@link OpenAddressedHashSet} against its int and long specializations,
+ * same keys and probes. Memory per element is reported by `gradle :benchmarks:footprint`.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveSetBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"UNIFORM", "SKEWED"})
+    KeyDistribution distribution;
+
+    private OpenAddressedHashSet<Integer> boxed;
+    private IntOpenAddressedHashSet ints;
+    private LongOpenAddressedHashSet longs;
+    private Integer[] boxedPresent;
+    private Integer[] boxedAbsent;
+    private int[] present;
+    private int[] absent;
+    private int[] probes;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        boxedPresent = distribution.keys(0, size);
+        boxedAbsent = distribution.keys(size, size);
+        present = new int[size];
+        absent = new int[size];
+        for (int i = 0; i < size; i++) {
+            present[i] = boxedPresent[i];
+            absent[i] = boxedAbsent[i];
+        }
+        probes = distribution.probes(size, 42);
+
+        boxed = new OpenAddressedHashSet<>(boxedPresent);
+        ints = new IntOpenAddressedHashSet(present);
+        longs = new LongOpenAddressedHashSet(size);
+        for (int value : present) {
+            longs.add(value);
+        }
+    }
+
+    private int nextProbe() {
+        return probes[cursor++ & (KeyDistribution.PROBES - 1)];
+    }
+
+    @Benchmark
+    public boolean boxedContains() {
+        return boxed.contains(boxedPresent[nextProbe()]);
+    }
+
+    @Benchmark
+    public boolean intContains() {
+        return ints.contains(present[nextProbe()]);
+    }
+
+    @Benchmark
+    public boolean longContains() {
+        return longs.contains(present[nextProbe()]);
+    }
+
+    @Benchmark
+    public boolean boxedContainsMiss() {
+        return boxed.contains(boxedAbsent[nextProbe()]);
+    }
+
+    @Benchmark
+    public boolean intContainsMiss() {
+        return ints.contains(absent[nextProbe()]);
+    }
+
+    @Benchmark
+    public boolean longContainsMiss() {
+        return longs.contains(absent[nextProbe()]);
+    }
+
+    @Benchmark
+    public Integer boxedAddThenDelete() {
+        Integer key = boxedAbsent[nextProbe()];
+        boxed.add(key);
+        return boxed.delete(key);
+    }
+
+    @Benchmark
+    public boolean intAddThenDelete() {
+        int key = absent[nextProbe()];
+        ints.add(key);
+        return ints.delete(key);
+    }
+
+    @Benchmark
+    public boolean longAddThenDelete() {
+        int key = absent[nextProbe()];
+        longs.add(key);
+        return longs.delete(key);
+    }
+}
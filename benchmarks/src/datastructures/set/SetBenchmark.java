@@ -0,0 +1,103 @@
+package datastructures.set;
+
+import datastructures.KeyDistribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point operations of every {@link Set} implementation, for every size and key distribution.
+ * <p>
+ * The set is loaded once per trial with `size` keys and has to stay at that size, so
+ * mutations are measured in pairs: adding a missing key and deleting it back, or
+ * deleting a present key and adding it back.
+ * <p>
+ * Pick a subset with e.g. `-p implementation=CHAIN_HASH -p size=1000`.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param
+    SetImplementation implementation;
+
+    @Param
+    KeyDistribution distribution;
+
+    private Set<Integer> set;
+    private Integer[] present;
+    private Integer[] absent;
+    private int[] probes;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        present = distribution.keys(0, size);
+        absent = distribution.keys(size, size);
+        probes = distribution.probes(size, 42);
+        set = implementation.create(present);
+    }
+
+    private int nextProbe() {
+        return probes[cursor++ & (KeyDistribution.PROBES - 1)];
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return set.contains(present[nextProbe()]);
+    }
+
+    @Benchmark
+    public boolean containsMiss() {
+        return set.contains(absent[nextProbe()]);
+    }
+
+    @Benchmark
+    public Integer addThenDelete() {
+        Integer key = absent[nextProbe()];
+        set.add(key);
+        return set.delete(key);
+    }
+
+    @Benchmark
+    public Integer deleteThenAdd() {
+        Integer key = present[nextProbe()];
+        Integer deleted = set.delete(key);
+        set.add(key);
+        return deleted;
+    }
+
+    @Benchmark
+    public Integer findNext() {
+        return set.findNext(present[nextProbe()]);
+    }
+
+    /**
+     * Whole set per op, compare against findNext times size for what chaining lookups costs
+     */
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Integer value : set) {
+            blackhole.consume(value);
+        }
+    }
+}
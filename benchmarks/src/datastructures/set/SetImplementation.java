@@ -0,0 +1,36 @@
+package datastructures.set;
+
+import java.util.function.Function;
+
+/**
+ * Every {@link Set} the benchmarks compare, built from the same keys
+ */
+public enum SetImplementation {
+    OPEN_ADDRESSED_HASH(OpenAddressedHashSet::new),
+    ROBIN_HOOD_HASH(values -> new OpenAddressedHashSet<>(values, OpenAddressedHashSet.Probing.ROBIN_HOOD)),
+    SWISS_TABLE_HASH(SwissTableHashSet::new),
+    CHAIN_HASH(ChainHashSet::new),
+    CHAIN_HASH_TREE_BUCKETS(values -> {
+        ChainHashSet<Integer> set = ChainHashSet.withTreeBuckets();
+        for (Integer value : values) {
+            set.add(value);
+        }
+        return set;
+    }),
+    FLAT_CHAIN_HASH(FlatChainHashSet::new),
+    AVL_TREE(AVLTreeSet::new),
+    POOLED_AVL_TREE(PooledAVLTreeSet::new),
+    B_PLUS_TREE(BPlusTreeSet::new),
+    SORTED_SEQUENCE(SortedSequenceSet::new),
+    BLOCKED_SORTED(BlockedSortedSet::new);
+
+    private final Function<Integer[], Set<Integer>> factory;
+
+    SetImplementation(Function<Integer[], Set<Integer>> factory) {
+        this.factory = factory;
+    }
+
+    public Set<Integer> create(Integer[] values) {
+        return factory.apply(values);
+    }
+}
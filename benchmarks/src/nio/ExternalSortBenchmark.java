@@ -0,0 +1,95 @@
+package nio;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Sorting a synthetic file with {@link ExternalMergeSort}: 100 byte records with random 10 byte keys
+ * (the sortbenchmark.org format), input, spill and output on the same local disk (the temporary directory).
+ * <p>
+ * Single shot, a sort is seconds to minutes. The file is generated once per trial and the page cache
+ * is not dropped, so with files smaller than the free RAM this measures mostly CPU and copies.
+ * The heap is fixed so that the memory budget is what limits the runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ExternalSortBenchmark {
+
+    private static final int RECORD_SIZE = 100;
+    private static final int KEY_SIZE = 10;
+
+    @Param({"256", "4096"})
+    long fileMb;
+
+    @Param({"64", "512"})
+    long memoryMb;
+
+    private Path input;
+    private Path output;
+
+    @Setup
+    public void setup() throws IOException {
+        input = Files.createTempFile("external-sort-input", ".bin");
+        output = Files.createTempFile("external-sort-output", ".bin");
+
+        SplittableRandom random = new SplittableRandom(fileMb);
+        long records = (fileMb << 20) / RECORD_SIZE;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * 10_000);
+        try (FileChannel channel = FileChannel.open(input, WRITE)) {
+            for (long i = 0; i < records; i++) {
+                if (buffer.remaining() < RECORD_SIZE) {
+                    write(channel, buffer);
+                }
+                buffer.putLong(random.nextLong());
+                buffer.putShort((short) random.nextInt());
+                // payload
+                buffer.position(buffer.position() + RECORD_SIZE - KEY_SIZE);
+            }
+            write(channel, buffer);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public Path sort() throws IOException {
+        new ExternalMergeSort(RECORD_SIZE, KEY_SIZE, memoryMb << 20).sort(input, output);
+        return output;
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
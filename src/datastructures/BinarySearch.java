@@ -2,8 +2,13 @@ package datastructures;
 
 import datastructures.sequence.Sequence;
 
+import java.util.Arrays;
+
 public class BinarySearch {
 
+    // probes searched together by the batched lower bounds
+    private static final int LANES = 8;
+
     public record IndexToInsertInOrder(boolean match, int index) {
     }
 
@@ -35,7 +40,16 @@ public class BinarySearch {
             return new IndexToInsertInOrder(true, sequence.size() - 1);
         }
 
+        // one comparison per level, instead of peeking at both neighbours of every half
+        int index = lowerBound(sequence, value);
+        return new IndexToInsertInOrder(sequence.at(index).compareTo(value) == 0, index);
+    }
 
+    /**
+     * O(log(n))
+     * @return index of value. -1 if not found
+     */
+    public static <T extends Comparable<T>> int search(Sequence<T> sequence, T value) {
         int begin = 0;
         int end = sequence.size() - 1;
 
@@ -44,21 +58,7 @@ public class BinarySearch {
 
             int compare = sequence.at(half).compareTo(value);
             if (compare == 0) { // found
-                return new IndexToInsertInOrder(true, half);
-            }
-
-            if (compare > 0 && // if half is larger
-                    half - 1 > 0 && // we are not at the edge
-                    sequence.at(half - 1).compareTo(value) < 0) { // previous value is smaller than value
-                // Then value should be inserted here
-                return new IndexToInsertInOrder(false, half);
-            }
-
-            if (compare < 0 && // if half is less
-                    half + 1 < sequence.size() && // we are not at the edge
-                    sequence.at(half + 1).compareTo(value) > 0) { // next value is greater than value
-                // Then value should be inserted here
-                return new IndexToInsertInOrder(false, half + 1);
+                return half;
             }
 
             // half is larger that value,
@@ -70,22 +70,22 @@ public class BinarySearch {
             }
         }
 
-        // Should never happen
-        return new IndexToInsertInOrder(false, -1);
+        return -1;
     }
 
     /**
      * O(log(n))
+     *
      * @return index of value. -1 if not found
      */
-    public static <T extends Comparable<T>> int search(Sequence<T> sequence, T value) {
+    public static <T extends Comparable<T>> int search(T[] array, T value) {
         int begin = 0;
-        int end = sequence.size() - 1;
+        int end = array.length - 1;
 
         while (end >= begin) {
             int half = Math.ceilDiv(end - begin, 2) + begin;
 
-            int compare = sequence.at(half).compareTo(value);
+            int compare = array[half].compareTo(value);
             if (compare == 0) { // found
                 return half;
             }
@@ -103,31 +103,319 @@ public class BinarySearch {
     }
 
     /**
-     * O(log(n))
+     * O(log(n)) - Branchless lower bound: the range halves every step no matter the comparison,
+     * so the loop always runs the same ceil(log2(n)) times and the only decision, which half,
+     * is a conditional move instead of a jump the CPU has to guess (and misses half of the time).
      *
-     * @return index of value. -1 if not found
+     * @return first index whose value is not smaller than value, array.length if there's none
      */
-    public static <T extends Comparable<T>> int search(T[] array, T value) {
-        int begin = 0;
-        int end = array.length - 1;
+    public static int lowerBound(int[] array, int value) {
+        int length = array.length;
+        if (length == 0) {
+            return 0;
+        }
 
-        while (end >= begin) {
-            int half = Math.ceilDiv(end - begin, 2) + begin;
+        int base = 0;
+        while (length > 1) {
+            int half = length >>> 1;
+            base = array[base + half] < value ? base + half : base;
+            length -= half;
+        }
+        return base + (array[base] < value ? 1 : 0);
+    }
 
-            int compare = array[half].compareTo(value);
-            if (compare == 0) { // found
-                return half;
+    /**
+     * O(log(n)) - Same as {@link #lowerBound(int[], int)}, the fixed number of iterations helps,
+     * but compareTo is a call and every value a pointer to chase.
+     *
+     * @return first index whose value is not smaller than value, array.length if there's none
+     */
+    public static <T extends Comparable<T>> int lowerBound(T[] array, T value) {
+        int length = array.length;
+        if (length == 0) {
+            return 0;
+        }
+
+        int base = 0;
+        while (length > 1) {
+            int half = length >>> 1;
+            base = array[base + half].compareTo(value) < 0 ? base + half : base;
+            length -= half;
+        }
+        return base + (array[base].compareTo(value) < 0 ? 1 : 0);
+    }
+
+    /**
+     * O(log(n)) - Same as {@link #lowerBound(int[], int)}, through the sequence interface.
+     *
+     * @return first index whose value is not smaller than value, sequence.size() if there's none
+     */
+    public static <T extends Comparable<T>> int lowerBound(Sequence<T> sequence, T value) {
+        int length = sequence.size();
+        if (length == 0) {
+            return 0;
+        }
+
+        int base = 0;
+        while (length > 1) {
+            int half = length >>> 1;
+            base = sequence.at(base + half).compareTo(value) < 0 ? base + half : base;
+            length -= half;
+        }
+        return base + (sequence.at(base).compareTo(value) < 0 ? 1 : 0);
+    }
+
+    /**
+     * O(m*log(n/m)) when probes are ascending, O(m*log(n)) otherwise - Lower bound of every probe in one call.
+     * <p>
+     * Ascending probes are resolved in a single merged pass: each one can only land at or after the previous
+     * answer, so the search gallops forward from there (1, 2, 4... positions, then a binary search in the last gap),
+     * which is cheap when probes are dense and never worse than a plain search when they're sparse.
+     * <p>
+     * Otherwise {LANES} probes are searched in lockstep. Every step does one independent load per probe,
+     * so the cache misses of different probes overlap instead of waiting for each other.
+     *
+     * @return for each probe, first index whose value is not smaller than it
+     */
+    public static int[] lowerBounds(int[] array, int[] probes) {
+        int[] result = new int[probes.length];
+        if (array.length == 0) {
+            return result;
+        }
+
+        if (isAscending(probes)) {
+            int from = 0;
+            for (int i = 0; i < probes.length; i++) {
+                from = gallop(array, from, probes[i]);
+                result[i] = from;
             }
+            return result;
+        }
 
-            // half is larger that value,
-            // thus the result like is at first half
-            if (compare > 0) {
-                end = half - 1;
+        int[] base = new int[LANES];
+        for (int first = 0; first < probes.length; first += LANES) {
+            int lanes = Math.min(LANES, probes.length - first);
+            Arrays.fill(base, 0);
+
+            int length = array.length;
+            while (length > 1) {
+                int half = length >>> 1;
+                for (int lane = 0; lane < lanes; lane++) {
+                    int b = base[lane];
+                    base[lane] = array[b + half] < probes[first + lane] ? b + half : b;
+                }
+                length -= half;
+            }
+
+            for (int lane = 0; lane < lanes; lane++) {
+                int b = base[lane];
+                result[first + lane] = b + (array[b] < probes[first + lane] ? 1 : 0);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * O(m*log(n/m)) when probes are ascending, O(m*log(n)) otherwise - Same as {@link #lowerBounds(int[], int[])}
+     *
+     * @return for each probe, first index whose value is not smaller than it
+     */
+    public static <T extends Comparable<T>> int[] lowerBounds(Sequence<T> sequence, T[] probes) {
+        int[] result = new int[probes.length];
+        if (sequence.size() == 0) {
+            return result;
+        }
+
+        if (isAscending(probes)) {
+            int from = 0;
+            for (int i = 0; i < probes.length; i++) {
+                from = gallop(sequence, from, probes[i]);
+                result[i] = from;
+            }
+            return result;
+        }
+
+        int[] base = new int[LANES];
+        for (int first = 0; first < probes.length; first += LANES) {
+            int lanes = Math.min(LANES, probes.length - first);
+            Arrays.fill(base, 0);
+
+            int length = sequence.size();
+            while (length > 1) {
+                int half = length >>> 1;
+                for (int lane = 0; lane < lanes; lane++) {
+                    int b = base[lane];
+                    base[lane] = sequence.at(b + half).compareTo(probes[first + lane]) < 0 ? b + half : b;
+                }
+                length -= half;
+            }
+
+            for (int lane = 0; lane < lanes; lane++) {
+                int b = base[lane];
+                result[first + lane] = b + (sequence.at(b).compareTo(probes[first + lane]) < 0 ? 1 : 0);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * O(m*log(n/m)) when values are ascending, O(m*log(n)) otherwise
+     *
+     * @return for each value its index, -1 if not found
+     */
+    public static <T extends Comparable<T>> int[] search(Sequence<T> sequence, T[] values) {
+        int[] result = lowerBounds(sequence, values);
+        for (int i = 0; i < result.length; i++) {
+            int index = result[i];
+            if (index == sequence.size() || sequence.at(index).compareTo(values[i]) != 0) {
+                result[i] = -1;
+            }
+        }
+        return result;
+    }
+
+    private static boolean isAscending(int[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i - 1] > values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <T extends Comparable<T>> boolean isAscending(T[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i - 1].compareTo(values[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * O(log(k)) where k is how far the answer is from `from`
+     *
+     * @return first index from `from` whose value is not smaller than value
+     */
+    private static int gallop(int[] array, int from, int value) {
+        int lo = from;
+        int hi = from;
+        int step = 1;
+        while (hi < array.length && array[hi] < value) {
+            lo = hi + 1;
+            hi += step;
+            step <<= 1;
+        }
+
+        hi = Math.min(hi, array.length);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (array[mid] < value) {
+                lo = mid + 1;
             } else {
-                begin = half + 1;
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static <T extends Comparable<T>> int gallop(Sequence<T> sequence, int from, T value) {
+        int lo = from;
+        int hi = from;
+        int step = 1;
+        while (hi < sequence.size() && sequence.at(hi).compareTo(value) < 0) {
+            lo = hi + 1;
+            hi += step;
+            step <<= 1;
+        }
+
+        hi = Math.min(hi, sequence.size());
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sequence.at(mid).compareTo(value) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
             }
         }
+        return lo;
+    }
 
-        return -1;
+    /**
+     * A sorted int[] laid out in breadth-first order (Eytzinger), the way a binary heap is stored:
+     * the root at 1, the children of k at 2k and 2k + 1.
+     * <p>
+     * A binary search on a sorted array touches a different cache line on every step once the array is larger
+     * than the cache, and they're far apart (n/2, n/4...), so nothing helps ahead of time. Here the first levels
+     * are all packed at the start of the array (always cached), and the next positions to visit are always
+     * close: the 16 descendants 4 levels below a node are contiguous, a single cache line. Hardware prefetchers
+     * follow that much better than jumps around the middle of a sorted array (Java has no explicit prefetch).
+     * <p>
+     * Built once, O(n), read only. Keeps the sorted position of each slot to answer with indexes of the sorted array.
+     */
+    public static class Eytzinger {
+        private final int[] tree;
+        private final int[] rank;
+
+        /**
+         * O(n)
+         */
+        public Eytzinger(int[] sorted) {
+            tree = new int[sorted.length + 1];
+            rank = new int[sorted.length + 1];
+            fill(sorted, 0, 1);
+        }
+
+        /**
+         * In-order walk of the implicit tree, which visits slots in sorted order
+         */
+        private int fill(int[] sorted, int i, int k) {
+            if (k < tree.length) {
+                i = fill(sorted, i, 2 * k);
+                tree[k] = sorted[i];
+                rank[k] = i;
+                i++;
+                i = fill(sorted, i, 2 * k + 1);
+            }
+            return i;
+        }
+
+        /**
+         * O(log(n))
+         *
+         * @return first index in the sorted array whose value is not smaller than value, size() if there's none
+         */
+        public int lowerBound(int value) {
+            int k = lowerBoundSlot(value);
+            return k == 0 ? size() : rank[k];
+        }
+
+        /**
+         * O(log(n))
+         */
+        public boolean contains(int value) {
+            int k = lowerBoundSlot(value);
+            return k != 0 && tree[k] == value;
+        }
+
+        public int size() {
+            return tree.length - 1;
+        }
+
+        /**
+         * O(log(n)) - Branchless descent, left when the node is not smaller than value, right otherwise.
+         * Falling off the tree, the last left turn is the answer: shifting out the trailing right turns
+         * (1 bits) and that left turn gives it back.
+         *
+         * @return slot of the answer, 0 if there's none
+         */
+        private int lowerBoundSlot(int value) {
+            int n = tree.length;
+            int k = 1;
+            while (k < n) {
+                k = 2 * k + (tree[k] < value ? 1 : 0);
+            }
+            return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+        }
     }
 }
@@ -2,163 +2,97 @@ package datastructures;
 
 import datastructures.sequence.Sequence;
 
-import java.util.Arrays;
-
 public class MergeSort {
 
+    private static final int INSERTION_RUN = 16;
+    private static final int RADIX = 256;
+    private static final int RADIX_CUTOFF = 1 << 12;
+
     /**
-     * VERSION BY HEART using own array
      * O(n*log(n)) - Takes a list a merge sorts it.
      * <p>
-     * It does by splitting the array in multiple
-     * smaller problems and merge from smallest
-     * (k=2) and grows on factor of 2 until
-     * everything is merged.
+     * Values are copied out into an array, merged like {@link #sort(Comparable[])} and set back.
+     * Two copies of O(n) instead of a subset per merge (O(n) per merge, O(n*log(n)) garbage overall).
+     * <p>
+     * That's two arrays of n, the copy and the merge buffer, not one. The sequence itself can't be the
+     * other side of the ping-pong, at(i) and set(i) are O(n) on the linked ones. What's saved is the copy
+     * back into the array: values are set straight from whichever one the last pass ended in.
      */
     public static <T extends Comparable<T>> void sort(Sequence<T> sequence) {
         if (sequence == null || sequence.size() < 2) {
             return;
         }
 
-        int chunkSize = 1;
-        int i = 0;
-
-        while (i < sequence.size()) {
-            int list1Begin = i;
-            int list1End = Math.min(list1Begin + chunkSize, sequence.size());
-            int list2Begin = i + chunkSize;
-            int list2End = Math.min(list2Begin + chunkSize, sequence.size());
-
-            if (list2Begin < sequence.size()) {
-                Sequence<T> firstHalf = sequence.subset(list1Begin, list1End);    // O(n)
-                Sequence<T> secondHalf = sequence.subset(list2Begin, list2End);   // O(n)
-
-                int ptr1 = 0;
-                int ptr2 = 0;
-                for (int actualPos = list1Begin; actualPos < list2End; actualPos++) { // O(chunkSize * 2) -> O(n)
-                    if (ptr1 == firstHalf.size()) { // we exhausted firstHalf already
-                        sequence.set(actualPos, secondHalf.at(ptr2)); // set pt2;
-                        ptr2++;
-                        continue;
-                    }
-
-                    if (ptr2 == secondHalf.size()) { // we exhausted secondHalf already
-                        sequence.set(actualPos, firstHalf.at(ptr1)); // set pt1;
-                        ptr1++;
-                        continue;
-                    }
-
-                    // If ptr1 is larger than pt2
-                    if (firstHalf.at(ptr1).compareTo(secondHalf.at(ptr2)) > 0) {
-                        sequence.set(actualPos, secondHalf.at(ptr2)); // set pt2;
-                        ptr2++;
-                    } else {
-                        sequence.set(actualPos, firstHalf.at(ptr1)); // set pt1;
-                        ptr1++;
-                    }
-                }
-            }
-
-
-            // If we are about to finish the loop (i + chunkSize * 2 > array.length)
-            // And we have not yet merged the whole array
-            // Reset i and increase chunk size
-            if (i + chunkSize * 2 >= sequence.size() && chunkSize * 2 < sequence.size()) {
-                i = 0;
-                chunkSize *= 2;
-            } else {
-                i += chunkSize * 2;
-            }
-        }
+        T[] values = toArray(sequence);
+        setAllFromBuffer(sequence, mergeRuns(values));
     }
 
     /**
-     * ATTEMPT BY HEART
      * O(n*log(n)) - Takes a list a merge sorts it.
      * <p>
-     * It does by splitting the array in multiple
-     * smaller problems and merge from smallest
-     * (k=2) and grows on factor of 2 until
-     * everything is merged.
+     * Bottom-up: runs of {INSERTION_RUN} are insertion sorted in place first (way cheaper than
+     * merging pairs of 1, 2, 4...), then runs are merged in pairs, doubling their size every pass.
+     * <p>
+     * Only one buffer of n is allocated. Each pass merges from one array into the other, and the
+     * next pass goes the other way around (ping-pong), so nothing is copied back between passes.
+     * If the last pass ends in the buffer, it's copied back once.
+     * <p>
+     * Stable, on ties the left run goes first.
      */
     public static <T extends Comparable<T>> void sort(T[] array) {
         if (array == null || array.length < 2) {
             return;
         }
 
-        int chunkSize = 1;
-        int i = 0;
-
-        while (i < array.length) {
-            int list1Begin = i;
-            int list1End = Math.min(list1Begin + chunkSize, array.length);
-            int list2Begin = i + chunkSize;
-            int list2End = Math.min(list2Begin + chunkSize, array.length);
-
-            if (list2Begin < array.length) {
-                T[] firstHalf = Arrays.copyOfRange(array, list1Begin, list1End);    // O(n)
-                T[] secondHalf = Arrays.copyOfRange(array, list2Begin, list2End);   // O(n)
-
-                int ptr1 = 0;
-                int ptr2 = 0;
-                for (int actualPos = list1Begin; actualPos < list2End; actualPos++) { // O(chunkSize * 2) -> O(n)
-                    if (ptr1 == firstHalf.length) { // we exhausted firstHalf already
-                        array[actualPos] = secondHalf[ptr2]; // set pt2;
-                        ptr2++;
-                        continue;
-                    }
+        Object[] sorted = mergeRuns(array);
+        if (sorted != array) {
+            System.arraycopy(sorted, 0, array, 0, array.length);
+        }
+    }
 
-                    if (ptr2 == secondHalf.length) { // we exhausted secondHalf already
-                        array[actualPos] = firstHalf[ptr1]; // set pt1;
-                        ptr1++;
-                        continue;
-                    }
+    /**
+     * O(n*log(n)) - The insertion sorted runs and ping-pong passes of {@link #sort(Comparable[])}
+     *
+     * @return array or the buffer, whichever the last pass ended in
+     */
+    private static <T extends Comparable<T>> Object[] mergeRuns(T[] array) {
+        int n = array.length;
+        for (int lo = 0; lo < n; lo += INSERTION_RUN) {
+            insertionSort(array, lo, Math.min(lo + INSERTION_RUN, n));
+        }
 
-                    // If ptr1 is larger than pt2
-                    if (firstHalf[ptr1].compareTo(secondHalf[ptr2]) > 0) {
-                        array[actualPos] = secondHalf[ptr2]; // set pt2;
-                        ptr2++;
-                    } else {
-                        array[actualPos] = firstHalf[ptr1]; // set pt1;
-                        ptr1++;
-                    }
-                }
+        Object[] from = array;
+        Object[] to = new Object[n];
+        for (int width = INSERTION_RUN; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + 2 * width, n);
+                merge(from, lo, mid, mid, hi, to, lo);
             }
 
-
-            // If we are about to finish the loop (i + chunkSize * 2 > array.length)
-            // And we have not yet merged the whole array
-            // Reset i and increase chunk size
-            if (i + chunkSize * 2 >= array.length && chunkSize * 2 < array.length) {
-                i = 0;
-                chunkSize *= 2;
-            } else {
-                i += chunkSize * 2;
-            }
+            Object[] swap = from;
+            from = to;
+            to = swap;
         }
+        return from;
     }
 
     /**
      * O(n*log(n)) - Takes a list a merge sorts it.
      * <p>
-     * It does by splitting the array in multiple
-     * smaller problems and merge from smallest
-     * (k=2) and grows on factor of 2 until
-     * everything is merged.
+     * The textbook version: merge in pairs from chunks of 1, doubling until everything is merged.
+     * Merges go into a single tmp of n allocated up front, then copied back.
      */
     public static void sortByBook(Integer[] array) {
         if (array == null || array.length < 2) {
             return;
         }
 
-//        int it = 0;
-
+        Integer[] tmp = new Integer[array.length];
         int chunkSize = 1;
         while (chunkSize < array.length) {
-//            it++;
             int i = 0;
             while (i < array.length) {
-//                it++;
                 int start1 = i;
                 int end1 = i + chunkSize - 1;
                 int start2 = i + chunkSize;
@@ -169,14 +103,10 @@ public class MergeSort {
                     break;
                 }
 
-//                Integer[] tmp = merge(array, start1, end1, start2, end2);
-
-                Integer[] tmp = new Integer[totalSize];
-                int index = 0;
+                int index = i;
 
                 // While we still have docs to look
                 while (start1 <= end1 && start2 <= end2) {
-//                    it++;
                     if (array[start1] > array[start2]) {
                         tmp[index] = array[start2];
                         start2++;
@@ -190,7 +120,6 @@ public class MergeSort {
 
                 // exhaust n1
                 while (start1 <= end1) {
-//                    it++;
                     tmp[index] = array[start1];
                     index++;
                     start1++;
@@ -198,22 +127,388 @@ public class MergeSort {
 
                 // exhaust n2
                 while (start2 <= end2) {
-//                    it++;
                     tmp[index] = array[start2];
                     index++;
                     start2++;
                 }
 
-                System.arraycopy(tmp, 0, array, i + 0, totalSize);
+                System.arraycopy(tmp, i, array, i, totalSize);
 
                 i += 2 * chunkSize;
             }
             chunkSize *= 2;
         }
+    }
+
+    /**
+     * O(n*log(n)) - Same bottom-up ping-pong as {@link #sort(Comparable[])}, no boxing,
+     * values are compared right where they are instead of through a pointer and compareTo.
+     */
+    public static void sort(int[] array) {
+        if (array == null || array.length < 2) {
+            return;
+        }
+
+        int n = array.length;
+        for (int lo = 0; lo < n; lo += INSERTION_RUN) {
+            insertionSort(array, lo, Math.min(lo + INSERTION_RUN, n));
+        }
+
+        int[] from = array;
+        int[] to = new int[n];
+        for (int width = INSERTION_RUN; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                merge(from, lo, Math.min(lo + width, n), Math.min(lo + 2 * width, n), to);
+            }
+
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+
+        if (from != array) {
+            System.arraycopy(from, 0, array, 0, n);
+        }
+    }
+
+    /**
+     * O(n*log(n)) - Same bottom-up ping-pong as {@link #sort(Comparable[])}, no boxing.
+     */
+    public static void sort(long[] array) {
+        if (array == null || array.length < 2) {
+            return;
+        }
+
+        int n = array.length;
+        for (int lo = 0; lo < n; lo += INSERTION_RUN) {
+            insertionSort(array, lo, Math.min(lo + INSERTION_RUN, n));
+        }
+
+        long[] from = array;
+        long[] to = new long[n];
+        for (int width = INSERTION_RUN; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                merge(from, lo, Math.min(lo + width, n), Math.min(lo + 2 * width, n), to);
+            }
+
+            long[] swap = from;
+            from = to;
+            to = swap;
+        }
+
+        if (from != array) {
+            System.arraycopy(from, 0, array, 0, n);
+        }
+    }
+
+    /**
+     * O(n*log(n)) - Same bottom-up ping-pong as {@link #sort(Comparable[])}, no boxing.
+     * <p>
+     * Same order as {@link Double#compare}: -0.0 before 0.0 and NaN last.
+     */
+    public static void sort(double[] array) {
+        if (array == null || array.length < 2) {
+            return;
+        }
+
+        int n = array.length;
+        for (int lo = 0; lo < n; lo += INSERTION_RUN) {
+            insertionSort(array, lo, Math.min(lo + INSERTION_RUN, n));
+        }
+
+        double[] from = array;
+        double[] to = new double[n];
+        for (int width = INSERTION_RUN; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                merge(from, lo, Math.min(lo + width, n), Math.min(lo + 2 * width, n), to);
+            }
+
+            double[] swap = from;
+            from = to;
+            to = swap;
+        }
+
+        if (from != array) {
+            System.arraycopy(from, 0, array, 0, n);
+        }
+    }
+
+    /**
+     * O(n) - LSD radix sort, a byte at a time from the least significant one.
+     * <p>
+     * No comparisons at all, each pass is a counting sort of one byte into a buffer of n (ping-pong again).
+     * All 4 byte histograms are counted in a single read of the array, and passes where every value has
+     * the same byte (small or clustered values) are skipped. Worth it on large arrays only,
+     * under {RADIX_CUTOFF} it's the merge sort.
+     */
+    public static void radixSort(int[] array) {
+        if (array == null || array.length < RADIX_CUTOFF) {
+            sort(array);
+            return;
+        }
+
+        int n = array.length;
+        int[][] counts = new int[Integer.BYTES][RADIX];
+        for (int value : array) {
+            // flipping the sign bit puts negatives before positives
+            int key = value ^ Integer.MIN_VALUE;
+            for (int digit = 0; digit < Integer.BYTES; digit++) {
+                counts[digit][(key >>> (digit * 8)) & 0xFF]++;
+            }
+        }
+
+        int[] from = array;
+        int[] to = new int[n];
+        for (int digit = 0; digit < Integer.BYTES; digit++) {
+            int shift = digit * 8;
+            int[] offsets = counts[digit];
+            if (offsets[((from[0] ^ Integer.MIN_VALUE) >>> shift) & 0xFF] == n) {
+                continue;
+            }
+
+            toOffsets(offsets);
+            for (int value : from) {
+                to[offsets[((value ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++] = value;
+            }
+
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+
+        if (from != array) {
+            System.arraycopy(from, 0, array, 0, n);
+        }
+    }
+
+    /**
+     * O(n) - LSD radix sort, same as {@link #radixSort(int[])} with 8 passes at most.
+     */
+    public static void radixSort(long[] array) {
+        if (array == null || array.length < RADIX_CUTOFF) {
+            sort(array);
+            return;
+        }
+
+        int n = array.length;
+        int[][] counts = new int[Long.BYTES][RADIX];
+        for (long value : array) {
+            long key = value ^ Long.MIN_VALUE;
+            for (int digit = 0; digit < Long.BYTES; digit++) {
+                counts[digit][(int) (key >>> (digit * 8)) & 0xFF]++;
+            }
+        }
+
+        long[] from = array;
+        long[] to = new long[n];
+        for (int digit = 0; digit < Long.BYTES; digit++) {
+            int shift = digit * 8;
+            int[] offsets = counts[digit];
+            if (offsets[(int) ((from[0] ^ Long.MIN_VALUE) >>> shift) & 0xFF] == n) {
+                continue;
+            }
+
+            toOffsets(offsets);
+            for (long value : from) {
+                to[offsets[(int) ((value ^ Long.MIN_VALUE) >>> shift) & 0xFF]++] = value;
+            }
+
+            long[] swap = from;
+            from = to;
+            to = swap;
+        }
+
+        if (from != array) {
+            System.arraycopy(from, 0, array, 0, n);
+        }
+    }
+
+    /**
+     * Histogram to the position where each byte value starts
+     */
+    private static void toOffsets(int[] counts) {
+        int sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            int count = counts[i];
+            counts[i] = sum;
+            sum += count;
+        }
+    }
+
+    private static void insertionSort(int[] array, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            int value = array[i];
+            int j = i - 1;
+            while (j >= lo && array[j] > value) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
+    private static void insertionSort(long[] array, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            long value = array[i];
+            int j = i - 1;
+            while (j >= lo && array[j] > value) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
+    private static void insertionSort(double[] array, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            double value = array[i];
+            int j = i - 1;
+            while (j >= lo && Double.compare(array[j], value) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
+    /**
+     * O(n)
+     * Merges from[lo, mid) and from[mid, hi) into to[lo, hi)
+     */
+    private static void merge(int[] from, int lo, int mid, int hi, int[] to) {
+        if (mid == hi || from[mid - 1] <= from[mid]) {
+            System.arraycopy(from, lo, to, lo, hi - lo);
+            return;
+        }
+
+        int i = lo;
+        int j = mid;
+        int at = lo;
+        while (i < mid && j < hi) {
+            to[at++] = from[j] < from[i] ? from[j++] : from[i++];
+        }
+        System.arraycopy(from, i, to, at, mid - i);
+        System.arraycopy(from, j, to, at + mid - i, hi - j);
+    }
+
+    private static void merge(long[] from, int lo, int mid, int hi, long[] to) {
+        if (mid == hi || from[mid - 1] <= from[mid]) {
+            System.arraycopy(from, lo, to, lo, hi - lo);
+            return;
+        }
+
+        int i = lo;
+        int j = mid;
+        int at = lo;
+        while (i < mid && j < hi) {
+            to[at++] = from[j] < from[i] ? from[j++] : from[i++];
+        }
+        System.arraycopy(from, i, to, at, mid - i);
+        System.arraycopy(from, j, to, at + mid - i, hi - j);
+    }
+
+    private static void merge(double[] from, int lo, int mid, int hi, double[] to) {
+        if (mid == hi || Double.compare(from[mid - 1], from[mid]) <= 0) {
+            System.arraycopy(from, lo, to, lo, hi - lo);
+            return;
+        }
+
+        int i = lo;
+        int j = mid;
+        int at = lo;
+        while (i < mid && j < hi) {
+            to[at++] = Double.compare(from[j], from[i]) < 0 ? from[j++] : from[i++];
+        }
+        System.arraycopy(from, i, to, at, mid - i);
+        System.arraycopy(from, j, to, at + mid - i, hi - j);
+    }
+
+    /**
+     * O(n**2), but with few elements it's faster than merging
+     */
+    static <T extends Comparable<? super T>> void insertionSort(T[] array, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            T value = array[i];
+            int j = i - 1;
+            while (j >= lo && array[j].compareTo(value) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
+    /**
+     * O(n)
+     * Merges from[lo1, hi1) and from[lo2, hi2) into to[at, ...)
+     */
+    static void merge(Object[] from, int lo1, int hi1, int lo2, int hi2, Object[] to, int at) {
+        // already in order (or a single run), just a copy
+        if (lo2 == hi2 || lo1 == hi1 || compare(from[hi1 - 1], from[lo2]) <= 0) {
+            System.arraycopy(from, lo1, to, at, hi1 - lo1);
+            System.arraycopy(from, lo2, to, at + hi1 - lo1, hi2 - lo2);
+            return;
+        }
+
+        while (lo1 < hi1 && lo2 < hi2) {
+            // ties take the left run, that's what keeps it stable
+            if (compare(from[lo2], from[lo1]) < 0) {
+                to[at++] = from[lo2++];
+            } else {
+                to[at++] = from[lo1++];
+            }
+        }
+
+        System.arraycopy(from, lo1, to, at, hi1 - lo1);
+        System.arraycopy(from, lo2, to, at + hi1 - lo1, hi2 - lo2);
+    }
+
+    /**
+     * O(n) when the sequence can be iterated, at(i) otherwise
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Comparable<? super T>> T[] toArray(Sequence<T> sequence) {
+        // T erases to Comparable, a Comparable[] is what a T[] is at runtime
+        T[] values = (T[]) new Comparable<?>[sequence.size()];
+        if (sequence instanceof Iterable<?> iterable) {
+            int i = 0;
+            for (T value : (Iterable<T>) iterable) {
+                values[i++] = value;
+            }
+        } else {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = sequence.at(i);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * O(n) for array backed sequences
+     */
+    static <T> void setAll(Sequence<T> sequence, T[] values) {
+        for (int i = 0; i < values.length; i++) {
+            sequence.set(i, values[i]);
+        }
+    }
 
-//        System.out.print(array.length + ";" + it + "\n");
+    /**
+     * O(n) for array backed sequences - From an Object[] buffer, its values all came from the sequence
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void setAllFromBuffer(Sequence<T> sequence, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            sequence.set(i, (T) values[i]);
+        }
     }
 
+    /**
+     * O(1) - Compares values of an Object[] buffer, they all came from an array of the same Comparable type
+     */
+    @SuppressWarnings("unchecked")
+    static int compare(Object a, Object b) {
+        return ((Comparable<Object>) a).compareTo(b);
+    }
 
     // Attempt to do without consulting, WRONG.
     // I ended up doing a swap instead of merge swap
@@ -0,0 +1,202 @@
+package datastructures;
+
+import datastructures.sequence.Sequence;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Top-down merge sort on a {@link ForkJoinPool}.
+ * <p>
+ * - both halves are sorted in parallel, down to {SEQUENTIAL_CUTOFF} elements where it's plain recursion
+ * - a single scratch buffer of n is allocated once (a copy, so it's a T[] as well), every merge uses its own range of it
+ * - merging is parallel as well, otherwise the last merge alone is O(n) on a single core.
+ *   The middle element of the longer run is binary searched in the shorter one, which splits
+ *   both runs into two independent merges (left of it and right of it)
+ * <p>
+ * Stable, equal elements keep the order they had.
+ */
+public class ParallelMergeSort {
+
+    private static final int SEQUENTIAL_CUTOFF = 1 << 13;
+    private static final int MERGE_CUTOFF = 1 << 14;
+    private static final int INSERTION_CUTOFF = 32;
+
+    /**
+     * O(n*log(n)) work, O(log(n)**3) span
+     */
+    public static <T extends Comparable<? super T>> void sort(T[] array) {
+        sort(array, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * O(n*log(n)) work, O(log(n)**3) span
+     */
+    public static <T extends Comparable<? super T>> void sort(T[] array, ForkJoinPool pool) {
+        if (array == null || array.length < 2) {
+            return;
+        }
+
+        T[] scratch = Arrays.copyOf(array, array.length);
+        pool.invoke(new SortTask<>(array, scratch, 0, array.length));
+    }
+
+    /**
+     * O(n*log(n)) for array backed sequences, values are copied out, sorted and set back
+     */
+    public static <T extends Comparable<? super T>> void sort(Sequence<T> sequence) {
+        if (sequence == null || sequence.size() < 2) {
+            return;
+        }
+
+        T[] values = MergeSort.toArray(sequence);
+        sort(values);
+        MergeSort.setAll(sequence, values);
+    }
+
+    /**
+     * Sorts array[lo, hi) using scratch[lo, hi). Tasks are never serialized, hence no serialVersionUID
+     */
+    @SuppressWarnings("serial")
+    private static class SortTask<T extends Comparable<? super T>> extends RecursiveAction {
+        private final T[] array;
+        private final T[] scratch;
+        private final int lo;
+        private final int hi;
+
+        SortTask(T[] array, T[] scratch, int lo, int hi) {
+            this.array = array;
+            this.scratch = scratch;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= SEQUENTIAL_CUTOFF) {
+                sequentialSort(array, scratch, lo, hi);
+                return;
+            }
+
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask<>(array, scratch, lo, mid), new SortTask<>(array, scratch, mid, hi));
+
+            // already in order, nothing to merge
+            if (array[mid - 1].compareTo(array[mid]) <= 0) {
+                return;
+            }
+
+            System.arraycopy(array, lo, scratch, lo, hi - lo);
+            new MergeTask<>(scratch, lo, mid, mid, hi, array, lo).compute();
+        }
+    }
+
+    /**
+     * Merges from[lo1, hi1) and from[lo2, hi2) into to[at, ...)
+     */
+    @SuppressWarnings("serial")
+    private static class MergeTask<T extends Comparable<? super T>> extends RecursiveAction {
+        private final T[] from;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final T[] to;
+        private final int at;
+
+        MergeTask(T[] from, int lo1, int hi1, int lo2, int hi2, T[] to, int at) {
+            this.from = from;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.to = to;
+            this.at = at;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+            if (n1 + n2 <= MERGE_CUTOFF) {
+                MergeSort.merge(from, lo1, hi1, lo2, hi2, to, at);
+                return;
+            }
+
+            // pivot from the longer run, so both sub merges get at least a quarter
+            int mid1;
+            int mid2;
+            if (n1 >= n2) {
+                mid1 = (lo1 + hi1) >>> 1;
+                // right run values equal to the pivot go after it
+                mid2 = lowerBound(from, lo2, hi2, from[mid1]);
+            } else {
+                mid2 = (lo2 + hi2) >>> 1;
+                // left run values equal to the pivot go before it
+                mid1 = upperBound(from, lo1, hi1, from[mid2]);
+            }
+
+            int split = at + (mid1 - lo1) + (mid2 - lo2);
+            invokeAll(
+                    new MergeTask<>(from, lo1, mid1, lo2, mid2, to, at),
+                    new MergeTask<>(from, mid1, hi1, mid2, hi2, to, split)
+            );
+        }
+    }
+
+    /**
+     * O(n*log(n)), nothing allocated
+     * Top-down merge sort of array[lo, hi), insertion sort for the small ranges
+     */
+    private static <T extends Comparable<? super T>> void sequentialSort(T[] array, T[] scratch, int lo, int hi) {
+        if (hi - lo <= INSERTION_CUTOFF) {
+            MergeSort.insertionSort(array, lo, hi);
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        sequentialSort(array, scratch, lo, mid);
+        sequentialSort(array, scratch, mid, hi);
+        if (array[mid - 1].compareTo(array[mid]) <= 0) {
+            return;
+        }
+
+        System.arraycopy(array, lo, scratch, lo, hi - lo);
+        MergeSort.merge(scratch, lo, mid, mid, hi, array, lo);
+    }
+
+    /**
+     * O(log(n))
+     *
+     * @return first index in [lo, hi) whose value is not smaller than value
+     */
+    private static <T extends Comparable<? super T>> int lowerBound(T[] array, int lo, int hi, T value) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (value.compareTo(array[mid]) > 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * O(log(n))
+     *
+     * @return first index in [lo, hi) whose value is bigger than value
+     */
+    private static <T extends Comparable<? super T>> int upperBound(T[] array, int lo, int hi, T value) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (value.compareTo(array[mid]) >= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
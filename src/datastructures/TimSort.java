@@ -0,0 +1,437 @@
+package datastructures;
+
+import datastructures.sequence.Sequence;
+
+import static datastructures.MergeSort.compare;
+
+/**
+ * Adaptive merge sort, the idea behind Python's and Java's object sorts (TimSort).
+ * <p>
+ * {@link MergeSort} always does every pass from chunks of 1, even if the input is already sorted.
+ * This one looks at the data first:
+ * - natural runs are detected as they are, ascending ones kept, strictly descending ones reversed
+ * - runs shorter than a minimum length (between 16 and 32) are extended with binary insertion sort
+ * - runs are pushed on a stack and merged keeping their lengths roughly balanced
+ *   (each run is longer than the two above it combined), so merging stays O(n*log(n))
+ * - merges skip what is already in place on both ends, and when one run keeps winning
+ *   it switches to galloping: an exponential search finds how many go in one go and they're copied in bulk
+ * <p>
+ * An already sorted (or reversed) input is a single run, n-1 comparisons and nothing allocated.
+ * Input made of a few sorted runs costs about n*log(runs).
+ * <p>
+ * Stable, equal elements keep the order they had.
+ */
+public class TimSort {
+
+    private static final int MIN_MERGE = 32;
+    private static final int MIN_GALLOP = 7;
+    // enough for any int sized array given the invariant on run lengths
+    private static final int MAX_RUNS = 49;
+
+    private final Object[] array;
+    private Object[] tmp = new Object[0];
+    private final int[] runBase = new int[MAX_RUNS];
+    private final int[] runLength = new int[MAX_RUNS];
+    private int runs;
+
+    private TimSort(Object[] array) {
+        this.array = array;
+    }
+
+    /**
+     * O(n) for sorted input, O(n*log(n)) worst case
+     */
+    public static <T extends Comparable<? super T>> void sort(T[] array) {
+        if (array == null || array.length < 2) {
+            return;
+        }
+
+        new TimSort(array).sort();
+    }
+
+    /**
+     * O(n) for sorted input, O(n*log(n)) worst case. For array backed sequences,
+     * values are copied out, sorted and set back
+     */
+    public static <T extends Comparable<? super T>> void sort(Sequence<T> sequence) {
+        if (sequence == null || sequence.size() < 2) {
+            return;
+        }
+
+        T[] values = MergeSort.toArray(sequence);
+        sort(values);
+        MergeSort.setAll(sequence, values);
+    }
+
+    private void sort() {
+        int n = array.length;
+        if (n < MIN_MERGE) {
+            int run = countRunAndMakeAscending(0, n);
+            binaryInsertionSort(0, n, run);
+            return;
+        }
+
+        int minRun = minRunLength(n);
+        int lo = 0;
+        while (lo < n) {
+            int run = countRunAndMakeAscending(lo, n);
+            if (run < minRun) {
+                int forced = Math.min(n - lo, minRun);
+                binaryInsertionSort(lo, lo + forced, lo + run);
+                run = forced;
+            }
+
+            runBase[runs] = lo;
+            runLength[runs] = run;
+            runs++;
+            mergeCollapse();
+            lo += run;
+        }
+
+        while (runs > 1) {
+            int i = runs - 2;
+            if (i > 0 && runLength[i - 1] < runLength[i + 1]) {
+                i--;
+            }
+            mergeAt(i);
+        }
+    }
+
+    /**
+     * O(run)
+     *
+     * @return length of the run starting at lo, reversed in place if it was descending
+     */
+    private int countRunAndMakeAscending(int lo, int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            return 1;
+        }
+
+        // strictly descending only, reversing equal values would break stability
+        if (compare(array[runHi++], array[lo]) < 0) {
+            while (runHi < hi && compare(array[runHi], array[runHi - 1]) < 0) {
+                runHi++;
+            }
+            reverse(lo, runHi);
+        } else {
+            while (runHi < hi && compare(array[runHi], array[runHi - 1]) >= 0) {
+                runHi++;
+            }
+        }
+
+        return runHi - lo;
+    }
+
+    private void reverse(int lo, int hi) {
+        hi--;
+        while (lo < hi) {
+            Object swap = array[lo];
+            array[lo++] = array[hi];
+            array[hi--] = swap;
+        }
+    }
+
+    /**
+     * O(n**2) moves but O(n*log(n)) comparisons, array[lo, start) is already sorted
+     */
+    private void binaryInsertionSort(int lo, int hi, int start) {
+        for (int i = start; i < hi; i++) {
+            Object pivot = array[i];
+
+            // after the equal ones, keeps it stable
+            int left = lo;
+            int right = i;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (compare(pivot, array[mid]) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+
+            System.arraycopy(array, left, array, left + 1, i - left);
+            array[left] = pivot;
+        }
+    }
+
+    /**
+     * n itself when small, otherwise a value in [MIN_MERGE/2, MIN_MERGE] so n / minRun is
+     * a power of two or slightly under one, which keeps the final merges balanced
+     */
+    private static int minRunLength(int n) {
+        int lowBits = 0;
+        while (n >= MIN_MERGE) {
+            lowBits |= n & 1;
+            n >>= 1;
+        }
+        return n + lowBits;
+    }
+
+    /**
+     * Merges until the last runs satisfy, for any three consecutive runs X, Y, Z (Z on top):
+     * X > Y + Z and Y > Z
+     */
+    private void mergeCollapse() {
+        while (runs > 1) {
+            int i = runs - 2;
+            if (i > 0 && runLength[i - 1] <= runLength[i] + runLength[i + 1]
+                    || i > 1 && runLength[i - 2] <= runLength[i] + runLength[i - 1]) {
+                if (runLength[i - 1] < runLength[i + 1]) {
+                    i--;
+                }
+            } else if (runLength[i] > runLength[i + 1]) {
+                break;
+            }
+            mergeAt(i);
+        }
+    }
+
+    /**
+     * Merges runs i and i + 1 of the stack
+     */
+    private void mergeAt(int i) {
+        int base1 = runBase[i];
+        int length1 = runLength[i];
+        int base2 = runBase[i + 1];
+        int length2 = runLength[i + 1];
+
+        runLength[i] = length1 + length2;
+        if (i == runs - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLength[i + 1] = runLength[i + 2];
+        }
+        runs--;
+
+        // the beginning of run 1, smaller than run 2's first, is already in place
+        int k = gallopRight(array[base2], array, base1, length1, 0);
+        base1 += k;
+        length1 -= k;
+        if (length1 == 0) {
+            return;
+        }
+
+        // the end of run 2, bigger than run 1's last, is already in place
+        length2 = gallopLeft(array[base1 + length1 - 1], array, base2, length2, length2 - 1);
+        if (length2 == 0) {
+            return;
+        }
+
+        // only the shorter run is copied aside
+        if (length1 <= length2) {
+            mergeLow(base1, length1, base2, length2);
+        } else {
+            mergeHigh(base1, length1, base2, length2);
+        }
+    }
+
+    /**
+     * O(length1 + length2), run 1 is copied to tmp and merged front to back
+     */
+    private void mergeLow(int base1, int length1, int base2, int length2) {
+        Object[] tmp = ensureTmp(length1);
+        System.arraycopy(array, base1, tmp, 0, length1);
+
+        int cursor1 = 0;
+        int end1 = length1;
+        int cursor2 = base2;
+        int end2 = base2 + length2;
+        int dest = base1;
+        int wins1 = 0;
+        int wins2 = 0;
+        while (cursor1 < end1 && cursor2 < end2) {
+            // ties take run 1, that's what keeps it stable
+            if (compare(array[cursor2], tmp[cursor1]) < 0) {
+                array[dest++] = array[cursor2++];
+                wins2++;
+                wins1 = 0;
+            } else {
+                array[dest++] = tmp[cursor1++];
+                wins1++;
+                wins2 = 0;
+            }
+
+            if ((wins1 >= MIN_GALLOP || wins2 >= MIN_GALLOP) && cursor1 < end1 && cursor2 < end2) {
+                // run 1 values up to run 2's next
+                int k = gallopRight(array[cursor2], tmp, cursor1, end1 - cursor1, 0);
+                System.arraycopy(tmp, cursor1, array, dest, k);
+                dest += k;
+                cursor1 += k;
+                if (cursor1 == end1) {
+                    break;
+                }
+
+                // run 2 values below run 1's next
+                k = gallopLeft(tmp[cursor1], array, cursor2, end2 - cursor2, 0);
+                System.arraycopy(array, cursor2, array, dest, k);
+                dest += k;
+                cursor2 += k;
+                wins1 = 0;
+                wins2 = 0;
+            }
+        }
+
+        // what is left of run 2 is already in place
+        System.arraycopy(tmp, cursor1, array, dest, end1 - cursor1);
+    }
+
+    /**
+     * O(length1 + length2), run 2 is copied to tmp and merged back to front
+     */
+    private void mergeHigh(int base1, int length1, int base2, int length2) {
+        Object[] tmp = ensureTmp(length2);
+        System.arraycopy(array, base2, tmp, 0, length2);
+
+        int cursor1 = base1 + length1 - 1;
+        int cursor2 = length2 - 1;
+        int dest = base2 + length2 - 1;
+        int wins1 = 0;
+        int wins2 = 0;
+        while (cursor1 >= base1 && cursor2 >= 0) {
+            // ties take run 2, the back is filled first
+            if (compare(tmp[cursor2], array[cursor1]) < 0) {
+                array[dest--] = array[cursor1--];
+                wins1++;
+                wins2 = 0;
+            } else {
+                array[dest--] = tmp[cursor2--];
+                wins2++;
+                wins1 = 0;
+            }
+
+            if ((wins1 >= MIN_GALLOP || wins2 >= MIN_GALLOP) && cursor1 >= base1 && cursor2 >= 0) {
+                // run 1 values above run 2's next
+                int k = cursor1 - base1 + 1 - gallopRight(tmp[cursor2], array, base1, cursor1 - base1 + 1, cursor1 - base1);
+                dest -= k;
+                cursor1 -= k;
+                System.arraycopy(array, cursor1 + 1, array, dest + 1, k);
+                if (cursor1 < base1) {
+                    break;
+                }
+
+                // run 2 values from run 1's next up
+                k = cursor2 + 1 - gallopLeft(array[cursor1], tmp, 0, cursor2 + 1, cursor2);
+                dest -= k;
+                cursor2 -= k;
+                System.arraycopy(tmp, cursor2 + 1, array, dest + 1, k);
+                wins1 = 0;
+                wins2 = 0;
+            }
+        }
+
+        // what is left of run 1 is already in place
+        System.arraycopy(tmp, 0, array, dest - cursor2, cursor2 + 1);
+    }
+
+    /**
+     * O(log(k)) where k is the distance from hint to the answer
+     *
+     * @return k in [0, length] where values[base + k - 1] < key <= values[base + k]
+     */
+    private static int gallopLeft(Object key, Object[] values, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (compare(key, values[base + hint]) > 0) {
+            // to the right until values[base + hint + lastOffset] < key <= values[base + hint + offset]
+            int maxOffset = length - hint;
+            while (offset < maxOffset && compare(key, values[base + hint + offset]) > 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        } else {
+            // to the left until values[base + hint - offset] < key <= values[base + hint - lastOffset]
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && compare(key, values[base + hint - offset]) <= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            int swap = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - swap;
+        }
+
+        // binary search in (lastOffset, offset]
+        lastOffset++;
+        while (lastOffset < offset) {
+            int mid = lastOffset + ((offset - lastOffset) >>> 1);
+            if (compare(key, values[base + mid]) > 0) {
+                lastOffset = mid + 1;
+            } else {
+                offset = mid;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * O(log(k)) where k is the distance from hint to the answer
+     *
+     * @return k in [0, length] where values[base + k - 1] <= key < values[base + k]
+     */
+    private static int gallopRight(Object key, Object[] values, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (compare(key, values[base + hint]) < 0) {
+            // to the left until values[base + hint - offset] <= key < values[base + hint - lastOffset]
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && compare(key, values[base + hint - offset]) < 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            int swap = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - swap;
+        } else {
+            // to the right until values[base + hint + lastOffset] <= key < values[base + hint + offset]
+            int maxOffset = length - hint;
+            while (offset < maxOffset && compare(key, values[base + hint + offset]) >= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        }
+
+        // binary search in (lastOffset, offset]
+        lastOffset++;
+        while (lastOffset < offset) {
+            int mid = lastOffset + ((offset - lastOffset) >>> 1);
+            if (compare(key, values[base + mid]) < 0) {
+                offset = mid;
+            } else {
+                lastOffset = mid + 1;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Allocated on the first merge only, never more than half of the array
+     */
+    private Object[] ensureTmp(int length) {
+        if (tmp.length < length) {
+            int grown = Math.min(Math.max(length, tmp.length * 2), array.length >>> 1);
+            tmp = new Object[Math.max(grown, length)];
+        }
+        return tmp;
+    }
+}
@@ -0,0 +1,123 @@
+package datastructures.map;
+
+import datastructures.set.BPlusTreeSet;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Sorted map on a {@link BPlusTreeSet} of key values, ordered by key
+ */
+public class BPlusTreeMap<K extends Comparable<K>, V> implements Map<K, V> {
+
+    private final BPlusTreeSet<KeyValue<K, V>> set;
+
+    public BPlusTreeMap() {
+        set = new BPlusTreeSet<>();
+    }
+
+    /**
+     * @param fanOut maximum keys in a node
+     */
+    public BPlusTreeMap(int fanOut) {
+        set = new BPlusTreeSet<>(fanOut);
+    }
+
+    /**
+     * O(n*log(n)), O(n) when pairs are already sorted by key. Bulk loaded, a repeated key keeps the last value
+     */
+    public BPlusTreeMap(List<KeyValue<K, V>> pairs) {
+        set = new BPlusTreeSet<>(toArray(pairs));
+    }
+
+    /**
+     * O(log n), the value of a key already there is replaced
+     */
+    @Override
+    public void add(K key, V value) {
+        if (key == null) {
+            return;
+        }
+
+        set.add(new KeyValue<>(key, value));
+    }
+
+    /**
+     * O(log n)
+     */
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+
+        KeyValue<K, V> pair = set.find(new KeyValue<>(key, null));
+        if (pair == null) {
+            return null;
+        }
+
+        return pair.value();
+    }
+
+    @Override
+    public int size() {
+        return set.size();
+    }
+
+    /**
+     * O(log n)
+     */
+    @Override
+    public V getOrDefault(K key, Function<K, V> init) {
+        V value = get(key);
+        if (value == null) {
+            value = init.apply(key);
+            add(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * O(log(n)) to start, then O(1) per pair, leaf by leaf. The map must not be modified while iterating
+     *
+     * @return pairs with a key in [from, to) in key order
+     */
+    public Iterator<KeyValue<K, V>> range(K from, K to) {
+        return set.range(new KeyValue<>(from, null), new KeyValue<>(to, null));
+    }
+
+    /**
+     * O(log(n))
+     *
+     * @return pair with the next key, null if key is the last one or not in the map
+     */
+    public KeyValue<K, V> findNext(K key) {
+        if (key == null) {
+            return null;
+        }
+
+        return set.findNext(new KeyValue<>(key, null));
+    }
+
+    /**
+     * O(log(n))
+     *
+     * @return pair with the previous key, null if key is the first one or not in the map
+     */
+    public KeyValue<K, V> findPrevious(K key) {
+        if (key == null) {
+            return null;
+        }
+
+        return set.findPrevious(new KeyValue<>(key, null));
+    }
+
+    /**
+     * A generic array can't be created, the one unchecked cast stays here instead of in callers
+     */
+    @SuppressWarnings("unchecked")
+    private static <K extends Comparable<K>, V> KeyValue<K, V>[] toArray(List<KeyValue<K, V>> pairs) {
+        return pairs.toArray((KeyValue<K, V>[]) new KeyValue<?, ?>[pairs.size()]);
+    }
+}
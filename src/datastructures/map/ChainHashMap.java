@@ -20,6 +20,17 @@ public class ChainHashMap<K extends Comparable<K>, V> implements Map<K, V> {
         set = new ChainHashSet<>(size);
     }
 
+    private ChainHashMap(ChainHashSet<KeyValue<K, V>> set) {
+        this.set = set;
+    }
+
+    /**
+     * Growing never rehashes everything at once, see {@link ChainHashSet#withIncrementalResize()}
+     */
+    public static <K extends Comparable<K>, V> ChainHashMap<K, V> withIncrementalResize() {
+        return new ChainHashMap<>(ChainHashSet.withIncrementalResize());
+    }
+
     @Override
     public void add(K key, V value) {
         if (key == null) {
@@ -60,10 +71,8 @@ public class ChainHashMap<K extends Comparable<K>, V> implements Map<K, V> {
 
     public SortedSequenceSet<K> keys() {
         SortedSequenceSet<K> keys = new SortedSequenceSet<>(size());
-        KeyValue<K, V> next = set.first();
-        while (next != null) {
-            keys.add(next.key());
-            next = set.findNext(next);
+        for (KeyValue<K, V> pair : set) {
+            keys.add(pair.key());
         }
 
         return keys;
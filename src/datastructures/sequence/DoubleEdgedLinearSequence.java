@@ -1,8 +1,14 @@
 package datastructures.sequence;
 
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class DoubleEdgedLinearSequence<T> implements Sequence<T> {
+public class DoubleEdgedLinearSequence<T> implements Sequence<T>, Iterable<T> {
 
     private static final int GROWTH_RATIO = 2;
 
@@ -41,21 +47,34 @@ public class DoubleEdgedLinearSequence<T> implements Sequence<T> {
      * O(n)
      */
     public DoubleEdgedLinearSequence(T[] input) {
+        this(input, input == null ? 0 : input.length);
+    }
+
+    /**
+     * O(length) - The first length values of input, for buffers that were filled up to some point
+     */
+    public DoubleEdgedLinearSequence(T[] input, int length) {
         if (input == null) {
             throw new IllegalStateException("Invalid empty or null input array");
         }
 
-        if (input.length == 0) {
-            // maybe bug lol
-            input = Arrays.copyOf(input, GROWTH_RATIO * 8);
+        if (length == 0) {
+            // same as an empty sequence, padding the input with nulls made them part of it
+            this.array = new Object[GROWTH_RATIO * 8];
+            this.size = 0;
+            this.capacity = array.length;
+            this.initialCapacity = array.length;
+            this.head = capacity / GROWTH_RATIO;
+            this.tail = head;
+            return;
         }
 
-        this.array = Arrays.copyOf(input, input.length);
-        this.size = input.length;
-        this.capacity = input.length;
-        this.initialCapacity = input.length;
+        this.array = Arrays.copyOf(input, length);
+        this.size = length;
+        this.capacity = length;
+        this.initialCapacity = length;
         this.head = 0;
-        this.tail = input.length - 1;
+        this.tail = length - 1;
     }
 
     /**
@@ -122,8 +141,8 @@ public class DoubleEdgedLinearSequence<T> implements Sequence<T> {
     }
 
     /**
-     * O(n)
-     * Adds a new value in the middle.
+     * O(min(pos, n - pos))
+     * Adds a new value in the middle, moving whichever side is shorter.
      * It doesn't add values beyond the end
      */
     @Override
@@ -132,14 +151,21 @@ public class DoubleEdgedLinearSequence<T> implements Sequence<T> {
             throw new IndexOutOfBoundsException("Can't set position " + pos + " for size " + size);
         }
 
+        // Values before pos move one back, the head has room for it
+        if (pos < size - pos && head > 0) {
+            System.arraycopy(array, head, array, head - 1, pos);
+            head--;
+            array[head + pos] = value;
+            size++;
+            return;
+        }
+
         if (size + head + 1 >= capacity) {
             growCapacity();
         }
 
-        // Copy values forward
-        for (int i = size; i > pos; i--) {
-            array[head + i] = array[head + i - 1];
-        }
+        // Values from pos move one forward
+        System.arraycopy(array, head + pos, array, head + pos + 1, size - pos);
 
         // insert
         array[head + pos] = value;
@@ -150,7 +176,7 @@ public class DoubleEdgedLinearSequence<T> implements Sequence<T> {
     }
 
     /**
-     * O(n) shift values to left
+     * O(min(pos, n - pos)) shift values of the shorter side
      */
     @Override
     public T deleteAt(int pos) {
@@ -168,15 +194,18 @@ public class DoubleEdgedLinearSequence<T> implements Sequence<T> {
 
         T toBeDeleted = at(pos);
 
-        // Copy values backward
-        for (int i = pos; i < size - 1; i++) {
-            array[head + i] = array[head + i + 1];
+        if (pos < size - 1 - pos) {
+            // Values before pos move one forward, clean head
+            System.arraycopy(array, head, array, head + 1, pos);
+            array[head] = null;
+            head++;
+        } else {
+            // Values after pos move one back, clean tail
+            System.arraycopy(array, head + pos + 1, array, head + pos, size - pos - 1);
+            array[tail] = null;
+            tail--;
         }
-
-        // clean tail
-        array[tail] = null;
         size--;
-        tail--;
 
         shrinkIfNeeded();
 
@@ -328,9 +357,7 @@ public class DoubleEdgedLinearSequence<T> implements Sequence<T> {
         // find new head (leave 1/4 of it)
         int newHead = newArray.length / GROWTH_RATIO / GROWTH_RATIO;
 
-        for (int i = 0; i < size; i++) {
-            newArray[newHead + i] = at(i);
-        }
+        System.arraycopy(array, head, newArray, newHead, size);
 
         head = newHead;
         if (size > 1) {
@@ -359,6 +386,54 @@ public class DoubleEdgedLinearSequence<T> implements Sequence<T> {
         return capacity;
     }
 
+    /**
+     * O(1) per element
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < size;
+            }
+
+            @Override
+            public T next() {
+                if (i >= size) {
+                    throw new NoSuchElementException();
+                }
+
+                //noinspection unchecked
+                return (T) array[head + i++];
+            }
+        };
+    }
+
+    /**
+     * Index range [head, head + size) of the backing array, splits in halves with exact sizes
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(array, head, head + size, Spliterator.ORDERED);
+    }
+
+    /**
+     * O(n)
+     */
+    public Object[] toArray() {
+        return Arrays.copyOfRange(array, head, head + size);
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     /**
      * O(n)
      */
@@ -1,6 +1,9 @@
 package datastructures.sequence;
 
-public class LinkedSequence<T> implements Sequence<T> {
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class LinkedSequence<T> implements Sequence<T>, Iterable<T> {
 
     /**
      * Public for educational purposes, but since it's not exposed
@@ -24,6 +27,9 @@ public class LinkedSequence<T> implements Sequence<T> {
     private Node<T> head;
     private Node<T> tail;
     private int size;
+    // last node reached by position and its index, walks start from it when it's the closest
+    private Node<T> finger;
+    private int fingerIndex;
 
     /**
      * O(1)
@@ -80,11 +86,12 @@ public class LinkedSequence<T> implements Sequence<T> {
             tail = head;
         }
 
+        fingerIndex++;
         size++;
     }
 
     /**
-     * O(n)
+     * O(distance to pos from head, tail or the last position reached)
      */
     @Override
     public void insertAt(int pos, T value) {
@@ -103,12 +110,8 @@ public class LinkedSequence<T> implements Sequence<T> {
         }
 
         //find position
-        Node<T> current = head;
-        Node<T> previous = null;
-        for (int i = 0; i < pos; i++) {
-            previous = current;
-            current = current.next;
-        }
+        Node<T> current = nodeAt(pos);
+        Node<T> previous = current.previous;
 
         Node<T> newNode = new Node<>(value);
         newNode.previous = previous;
@@ -117,11 +120,13 @@ public class LinkedSequence<T> implements Sequence<T> {
         current.previous = newNode;
         previous.next = newNode;
 
+        // the new node is at pos now, inserting again next to it is cheap
+        finger = newNode;
         size++;
     }
 
     /**
-     * O(n)
+     * O(distance to pos from head, tail or the last position reached)
      */
     @Override
     public T deleteAt(int pos) {
@@ -138,18 +143,14 @@ public class LinkedSequence<T> implements Sequence<T> {
         }
 
         //find position
-        Node<T> current = head;
-        Node<T> previous = null;
-        for (int i = 0; i < pos; i++) {
-            previous = current;
-            current = current.next;
-        }
-
-        Node<T> toReturn = current;
+        Node<T> current = nodeAt(pos);
+        Node<T> previous = current.previous;
 
         previous.next = current.next;
-        current.next = previous;
+        current.next.previous = previous;
 
+        // the next node took its position
+        finger = current.next;
         size--;
 
         return current.value;
@@ -165,6 +166,9 @@ public class LinkedSequence<T> implements Sequence<T> {
         }
 
         Node<T> toReturn = tail;
+        if (finger == tail) {
+            finger = null;
+        }
 
         if(size == 1) {
             tail = null;
@@ -188,23 +192,25 @@ public class LinkedSequence<T> implements Sequence<T> {
         }
 
         Node<T> toReturn = head;
+        if (finger == head) {
+            finger = null;
+        }
 
         if(size == 1) {
             tail = null;
             head = null;
         } else {
             head = head.next;
-            if (head.next != null) {
-                head.next.previous = head;
-            }
+            head.previous = null;
         }
 
+        fingerIndex--;
         size--;
         return toReturn.value;
     }
 
     /**
-     * O(n)
+     * O(distance to i from head, tail or the last position reached), O(1) amortized scanning by index
      */
     @Override
     public T at(int i) {
@@ -212,11 +218,7 @@ public class LinkedSequence<T> implements Sequence<T> {
             throw new IndexOutOfBoundsException("Can't access pos " + i + " in a array of " + size);
         }
 
-        Node<T> current = head;
-        for (int j = 0; j < i; j++) {
-            current = current.next;
-        }
-        return current.value;
+        return nodeAt(i).value;
     }
 
     /**
@@ -248,12 +250,12 @@ public class LinkedSequence<T> implements Sequence<T> {
      */
     @Override
     public Sequence<T> subset(int begin, int end) {
-        Node<T> current = head;
-        for (int i = 0; i < begin; i++) {
-            current = current.next;
+        Sequence<T> subset = new LinkedSequence<>();
+        if (begin >= end) {
+            return subset;
         }
 
-        Sequence<T> subset = new LinkedSequence<>();
+        Node<T> current = nodeAt(begin);
         for (int i = 0; i < end - begin; i++) {
             subset.insertLast(current.value);
             current = current.next;
@@ -263,7 +265,7 @@ public class LinkedSequence<T> implements Sequence<T> {
     }
 
     /**
-     * O(n)
+     * O(distance to i from head, tail or the last position reached), O(1) amortized setting by index
      */
     @Override
     public void set(int i, T value) {
@@ -271,17 +273,66 @@ public class LinkedSequence<T> implements Sequence<T> {
             throw new IndexOutOfBoundsException("Can't set pos " + i + " in a array of " + size);
         }
 
+        nodeAt(i).value = value;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * O(distance to i) - Walks from whichever of head, tail and the finger is closest to i,
+     * and leaves the finger on the node it reached
+     */
+    private Node<T> nodeAt(int i) {
         Node<T> current = head;
-        for (int j = 0; j < i; j++) {
+        int at = 0;
+        if (size - 1 - i < i) {
+            current = tail;
+            at = size - 1;
+        }
+        if (finger != null && Math.abs(i - fingerIndex) < Math.abs(i - at)) {
+            current = finger;
+            at = fingerIndex;
+        }
+
+        for (; at < i; at++) {
             current = current.next;
         }
+        for (; at > i; at--) {
+            current = current.previous;
+        }
 
-        current.value = value;
+        finger = current;
+        fingerIndex = i;
+        return current;
     }
 
+    /**
+     * O(1) per element, follows the nodes instead of at(i)
+     */
     @Override
-    public int size() {
-        return size;
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private Node<T> current = head;
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public T next() {
+                if (current == null) {
+                    throw new NoSuchElementException();
+                }
+
+                T value = current.value;
+                current = current.next;
+                return value;
+            }
+        };
     }
 
     @Override
@@ -0,0 +1,199 @@
+package datastructures.sequence;
+
+import datastructures.tree.PooledAVLTree;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static datastructures.tree.PooledAVLTree.NIL;
+
+/**
+ * Same as {@link AVLTreeSequence}, on a {@link PooledAVLTree}: nodes are indexes in a few arrays
+ * instead of an object each
+ */
+public class PooledAVLTreeSequence<T> implements Sequence<T>, Iterable<T> {
+
+    final PooledAVLTree<T> tree;
+
+    /**
+     * O(1)
+     */
+    public PooledAVLTreeSequence() {
+        this.tree = new PooledAVLTree<>();
+    }
+
+    /**
+     * O(n*log(n))
+     */
+    public PooledAVLTreeSequence(T[] values) {
+        this.tree = new PooledAVLTree<>(values == null ? 0 : values.length);
+        if (values == null) {
+            return;
+        }
+
+        for (T value : values) {
+            insertLast(value);
+        }
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public void insertLast(T value) {
+        tree.insertLast(value);
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public void insertFirst(T value) {
+        tree.insertFirst(value);
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public void insertAt(int pos, T value) {
+        if (pos < 0 || pos > size()) {
+            throw new IndexOutOfBoundsException("Can't set position " + pos + " for size " + size());
+        }
+
+        if (pos == size()) {
+            tree.insertLast(value);
+            return;
+        }
+
+        tree.insertBefore(tree.at(pos), value);
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T deleteAt(int pos) {
+        if (pos < 0 || pos >= size()) {
+            throw new IndexOutOfBoundsException("Can't delete position " + pos + " for size " + size());
+        }
+
+        return tree.delete(tree.at(pos));
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T deleteLast() {
+        if (size() == 0) {
+            return null;
+        }
+
+        return tree.delete(tree.last());
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T deleteFirst() {
+        if (size() == 0) {
+            return null;
+        }
+
+        return tree.delete(tree.first());
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T at(int i) {
+        if (i < 0 || i >= size()) {
+            throw new IndexOutOfBoundsException("Can't set position " + i + " for size " + size());
+        }
+
+        return tree.value(tree.at(i));
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T first() {
+        return tree.value(tree.first());
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T last() {
+        return tree.value(tree.last());
+    }
+
+    /**
+     * O(log(n) + (end - begin)*log(end - begin))
+     */
+    @Override
+    public Sequence<T> subset(int begin, int end) {
+        PooledAVLTreeSequence<T> copy = new PooledAVLTreeSequence<>();
+        if (begin >= end) {
+            return copy;
+        }
+
+        int node = tree.at(begin);
+        for (int i = begin; i < end; i++) {
+            copy.insertLast(tree.value(node));
+            node = tree.next(node);
+        }
+        return copy;
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public void set(int i, T value) {
+        if (i < 0 || i >= size()) {
+            throw new IndexOutOfBoundsException("Can't set position " + i + " for size " + size());
+        }
+
+        tree.setValue(tree.at(i), value);
+    }
+
+    /**
+     * O(1)
+     */
+    @Override
+    public int size() {
+        return tree.size();
+    }
+
+    /**
+     * O(n) in order walk, amortized O(1) per step
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int node = tree.first();
+
+            @Override
+            public boolean hasNext() {
+                return node != NIL;
+            }
+
+            @Override
+            public T next() {
+                if (node == NIL) {
+                    throw new NoSuchElementException();
+                }
+
+                T value = tree.value(node);
+                node = tree.next(node);
+                return value;
+            }
+        };
+    }
+}
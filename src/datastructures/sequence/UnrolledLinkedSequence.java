@@ -0,0 +1,491 @@
+package datastructures.sequence;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Linked list of small arrays (unrolled linked list).
+ * <p>
+ * {@link LinkedSequence} pays a node (value, next, previous and the object header) for every value,
+ * and at(i) follows a pointer per value. Here a node holds up to {nodeCapacity} values in an array:
+ * - the values of a node sit in values[offset, offset + count), so there's room on both sides and
+ *   inserting first or last is O(1) amortized, a new node is linked when the edge one is full
+ * - at(i) skips whole nodes from the closest end, O(n/nodeCapacity)
+ * - inserting in the middle moves values of one node only, a full node splits in two halves first.
+ *   Deleting merges a node into a neighbour when both fit in half a node, so nodes stay reasonably full
+ */
+public class UnrolledLinkedSequence<T> implements Sequence<T>, Iterable<T> {
+
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+
+    private static class Node {
+        final Object[] values;
+        int offset;
+        int count;
+        Node next;
+        Node previous;
+
+        Node(int capacity, int offset) {
+            this.values = new Object[capacity];
+            this.offset = offset;
+        }
+    }
+
+    private final int nodeCapacity;
+    private Node head;
+    private Node tail;
+    private int size;
+    // set by find, index inside the node it returned
+    private int foundIndex;
+
+    /**
+     * O(1)
+     */
+    public UnrolledLinkedSequence() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * O(1)
+     *
+     * @param nodeCapacity values per node, a few cache lines of references is a good start
+     */
+    public UnrolledLinkedSequence(int nodeCapacity) {
+        if (nodeCapacity < 2) {
+            throw new IllegalArgumentException("Nodes must hold at least 2 values, got " + nodeCapacity);
+        }
+
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    /**
+     * O(n)
+     */
+    public UnrolledLinkedSequence(T[] initialValues) {
+        this(DEFAULT_NODE_CAPACITY);
+        if (initialValues == null) {
+            throw new IllegalArgumentException("Argument can't be null");
+        }
+
+        for (T value : initialValues) {
+            insertLast(value);
+        }
+    }
+
+    /**
+     * Amortized O(1), O(nodeCapacity) when the last node has room at its front only
+     */
+    @Override
+    public void insertLast(T value) {
+        if (tail == null || tail.count == nodeCapacity) {
+            linkAfter(tail, new Node(nodeCapacity, 0));
+        } else if (tail.offset + tail.count == nodeCapacity) {
+            moveTo(tail, 0);
+        }
+
+        tail.values[tail.offset + tail.count] = value;
+        tail.count++;
+        size++;
+    }
+
+    /**
+     * Amortized O(1), O(nodeCapacity) when the first node has room at its end only
+     */
+    @Override
+    public void insertFirst(T value) {
+        if (head == null || head.count == nodeCapacity) {
+            linkBefore(head, new Node(nodeCapacity, nodeCapacity));
+        } else if (head.offset == 0) {
+            moveTo(head, nodeCapacity - head.count);
+        }
+
+        head.offset--;
+        head.values[head.offset] = value;
+        head.count++;
+        size++;
+    }
+
+    /**
+     * O(n/nodeCapacity + nodeCapacity)
+     */
+    @Override
+    public void insertAt(int pos, T value) {
+        if (pos < 0 || pos > size) {
+            throw new IndexOutOfBoundsException("Can't insert pos " + pos + " in a array of " + size);
+        }
+
+        if (pos == 0) {
+            insertFirst(value);
+            return;
+        }
+
+        if (pos == size) {
+            insertLast(value);
+            return;
+        }
+
+        Node node = find(pos);
+        int i = foundIndex;
+        if (node.count == nodeCapacity) {
+            split(node);
+            if (i >= node.count) {
+                i -= node.count;
+                node = node.next;
+            }
+        }
+
+        // not full, there's room on at least one side. Shift the shorter one that has room
+        Object[] values = node.values;
+        boolean roomAfter = node.offset + node.count < nodeCapacity;
+        if (roomAfter && (node.offset == 0 || node.count - i <= i)) {
+            System.arraycopy(values, node.offset + i, values, node.offset + i + 1, node.count - i);
+        } else {
+            System.arraycopy(values, node.offset, values, node.offset - 1, i);
+            node.offset--;
+        }
+        values[node.offset + i] = value;
+        node.count++;
+        size++;
+    }
+
+    /**
+     * O(n/nodeCapacity + nodeCapacity)
+     */
+    @Override
+    public T deleteAt(int pos) {
+        if (pos < 0 || pos >= size) {
+            throw new IndexOutOfBoundsException("Can't delete pos " + pos + " in a array of " + size);
+        }
+
+        Node node = find(pos);
+        int i = foundIndex;
+        Object[] values = node.values;
+        T value = (T) values[node.offset + i];
+
+        if (i < node.count - 1 - i) {
+            System.arraycopy(values, node.offset, values, node.offset + 1, i);
+            values[node.offset] = null;
+            node.offset++;
+        } else {
+            System.arraycopy(values, node.offset + i + 1, values, node.offset + i, node.count - i - 1);
+            values[node.offset + node.count - 1] = null;
+        }
+        node.count--;
+        size--;
+
+        afterDelete(node);
+        return value;
+    }
+
+    /**
+     * Amortized O(1)
+     */
+    @Override
+    public T deleteLast() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Can't delete last in a array of " + size);
+        }
+
+        Node node = tail;
+        int last = node.offset + node.count - 1;
+        T value = (T) node.values[last];
+        node.values[last] = null;
+        node.count--;
+        size--;
+
+        afterDelete(node);
+        return value;
+    }
+
+    /**
+     * Amortized O(1)
+     */
+    @Override
+    public T deleteFirst() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Can't delete first in a array of " + size);
+        }
+
+        Node node = head;
+        T value = (T) node.values[node.offset];
+        node.values[node.offset] = null;
+        node.offset++;
+        node.count--;
+        size--;
+
+        afterDelete(node);
+        return value;
+    }
+
+    /**
+     * O(n/nodeCapacity)
+     */
+    @Override
+    public T at(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Can't access pos " + i + " in a array of " + size);
+        }
+
+        Node node = find(i);
+        return (T) node.values[node.offset + foundIndex];
+    }
+
+    /**
+     * O(1)
+     */
+    @Override
+    public T first() {
+        if (size == 0) {
+            return null;
+        }
+
+        return (T) head.values[head.offset];
+    }
+
+    /**
+     * O(1)
+     */
+    @Override
+    public T last() {
+        if (size == 0) {
+            return null;
+        }
+
+        return (T) tail.values[tail.offset + tail.count - 1];
+    }
+
+    /**
+     * O(n/nodeCapacity + (end - begin))
+     */
+    @Override
+    public UnrolledLinkedSequence<T> subset(int begin, int end) {
+        UnrolledLinkedSequence<T> subset = new UnrolledLinkedSequence<>(nodeCapacity);
+        if (begin >= end) {
+            return subset;
+        }
+
+        Node node = find(begin);
+        int i = foundIndex;
+        for (int copied = 0; copied < end - begin; copied++) {
+            if (i == node.count) {
+                node = node.next;
+                i = 0;
+            }
+            subset.insertLast((T) node.values[node.offset + i++]);
+        }
+        return subset;
+    }
+
+    /**
+     * O(n/nodeCapacity)
+     */
+    @Override
+    public void set(int i, T value) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Can't set pos " + i + " in a array of " + size);
+        }
+
+        Node node = find(i);
+        node.values[node.offset + foundIndex] = value;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * O(1) per element, array by array
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private Node node = head;
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return node != null;
+            }
+
+            @Override
+            public T next() {
+                if (node == null) {
+                    throw new NoSuchElementException();
+                }
+
+                T value = (T) node.values[node.offset + i++];
+                if (i == node.count) {
+                    node = node.next;
+                    i = 0;
+                }
+                return value;
+            }
+        };
+    }
+
+    /**
+     * O(n/nodeCapacity) - Node holding position i, walking from the closest end.
+     * The index inside the node is left in foundIndex
+     */
+    private Node find(int i) {
+        if (i < size / 2) {
+            Node node = head;
+            while (i >= node.count) {
+                i -= node.count;
+                node = node.next;
+            }
+            foundIndex = i;
+            return node;
+        }
+
+        // distance from the last value
+        int back = size - 1 - i;
+        Node node = tail;
+        while (back >= node.count) {
+            back -= node.count;
+            node = node.previous;
+        }
+        foundIndex = node.count - 1 - back;
+        return node;
+    }
+
+    /**
+     * O(nodeCapacity) - The upper half of a full node goes to a new node right after it
+     */
+    private void split(Node node) {
+        int half = node.count / 2;
+        int moved = node.count - half;
+
+        Node right = new Node(nodeCapacity, 0);
+        System.arraycopy(node.values, node.offset + half, right.values, 0, moved);
+        Arrays.fill(node.values, node.offset + half, node.offset + node.count, null);
+        right.count = moved;
+        node.count = half;
+        linkAfter(node, right);
+    }
+
+    /**
+     * O(nodeCapacity) - Unlinks an empty node, or merges it with a neighbour when both fit in half a node.
+     * Keeps nodes reasonably full, without merging back and forth
+     */
+    private void afterDelete(Node node) {
+        if (node.count == 0) {
+            unlink(node);
+            return;
+        }
+
+        Node left;
+        if (node.next != null && node.count + node.next.count <= nodeCapacity / 2) {
+            left = node;
+        } else if (node.previous != null && node.previous.count + node.count <= nodeCapacity / 2) {
+            left = node.previous;
+        } else {
+            return;
+        }
+
+        Node right = left.next;
+        if (left.offset + left.count + right.count > nodeCapacity) {
+            moveTo(left, 0);
+        }
+        System.arraycopy(right.values, right.offset, left.values, left.offset + left.count, right.count);
+        left.count += right.count;
+        unlink(right);
+    }
+
+    /**
+     * O(nodeCapacity) - Moves the values of a node to start at offset, the slots left behind are cleaned
+     */
+    private static void moveTo(Node node, int offset) {
+        System.arraycopy(node.values, node.offset, node.values, offset, node.count);
+        if (offset < node.offset) {
+            Arrays.fill(node.values, Math.max(offset + node.count, node.offset), node.offset + node.count, null);
+        } else {
+            Arrays.fill(node.values, node.offset, Math.min(offset, node.offset + node.count), null);
+        }
+        node.offset = offset;
+    }
+
+    /**
+     * O(1) - Links node after previous, or as the only node when previous is null
+     */
+    private void linkAfter(Node previous, Node node) {
+        node.previous = previous;
+        if (previous == null) {
+            head = node;
+            tail = node;
+            return;
+        }
+
+        node.next = previous.next;
+        previous.next = node;
+        if (node.next == null) {
+            tail = node;
+        } else {
+            node.next.previous = node;
+        }
+    }
+
+    /**
+     * O(1) - Links node before next, or as the only node when next is null
+     */
+    private void linkBefore(Node next, Node node) {
+        if (next == null) {
+            linkAfter(null, node);
+            return;
+        }
+
+        node.next = next;
+        node.previous = next.previous;
+        next.previous = node;
+        if (node.previous == null) {
+            head = node;
+        } else {
+            node.previous.next = node;
+        }
+    }
+
+    /**
+     * O(1)
+     */
+    private void unlink(Node node) {
+        if (node.previous == null) {
+            head = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+
+        if (node.next == null) {
+            tail = node.previous;
+        } else {
+            node.next.previous = node.previous;
+        }
+    }
+
+    /**
+     * O(n/nodeCapacity)
+     */
+    int nodeCount() {
+        int count = 0;
+        for (Node node = head; node != null; node = node.next) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * O(n)
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (T value : this) {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(value);
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -4,9 +4,14 @@ import datastructures.sequence.LinkedSequence;
 import datastructures.tree.AVLTree;
 
 import java.lang.reflect.Array;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
-public class AVLTreeSet<T extends Comparable<T>> implements Set<T> {
+public class AVLTreeSet<T extends Comparable<? super T>> implements Set<T> {
 
     AVLTree<T> tree;
     Function<T, AVLTree<T>> treeAdapter;
@@ -37,7 +42,7 @@ public class AVLTreeSet<T extends Comparable<T>> implements Set<T> {
         }
     }
 
-    public static <T extends Comparable<T>> AVLTreeSet<T> allowDuplicates() {
+    public static <T extends Comparable<? super T>> AVLTreeSet<T> allowDuplicates() {
         AVLTreeSet<T> set = new AVLTreeSet<>();
         set.allowDuplicates = true;
         return set;
@@ -239,6 +244,221 @@ public class AVLTreeSet<T extends Comparable<T>> implements Set<T> {
         return tree;
     }
 
+    /**
+     * O(log(n)) - Subtree sizes count everything to the left of the way down
+     *
+     * @return how many values are smaller than value, the position it has or would have in order
+     */
+    public int rank(T value) {
+        int rank = 0;
+        AVLTree<T> current = tree;
+        while (current != null) {
+            if (value.compareTo(current.value()) > 0) {
+                // this one and everything to its left are smaller
+                rank += size(current.left()) + 1;
+                current = current.right();
+            } else {
+                current = current.left();
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * O(log(n))
+     *
+     * @return value at position k in order, 0 is the smallest
+     */
+    public T select(int k) {
+        if (k < 0 || k >= size()) {
+            throw new IndexOutOfBoundsException("Can't select " + k + " in a set of size " + size());
+        }
+
+        return tree.transversalOrderAt(k).value();
+    }
+
+    /**
+     * O(log(n)), no matter how many values are in between
+     *
+     * @return how many values are in [lo, hi)
+     */
+    public int countRange(T lo, T hi) {
+        if (lo.compareTo(hi) >= 0) {
+            return 0;
+        }
+
+        return rank(hi) - rank(lo);
+    }
+
+    /**
+     * O(log(n)) to start, then amortized O(1) per value.
+     * Lazy, values are read as the iterator goes. The set must not be modified while iterating
+     *
+     * @return values in [lo, hi) in order
+     */
+    public Iterator<T> range(T lo, T hi) {
+        return new Iterator<>() {
+            private AVLTree<T> current = lowerBound(lo);
+
+            @Override
+            public boolean hasNext() {
+                return current != null && current.value().compareTo(hi) < 0;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                T value = current.value();
+                current = current.next();
+                return value;
+            }
+        };
+    }
+
+    /**
+     * O(log(n))
+     *
+     * @return first node in order whose value is not smaller than value, null if there's none
+     */
+    private AVLTree<T> lowerBound(T value) {
+        AVLTree<T> found = null;
+        AVLTree<T> current = tree;
+        while (current != null) {
+            if (value.compareTo(current.value()) > 0) {
+                current = current.right();
+            } else {
+                // a candidate, something smaller but still big enough may be to its left
+                found = current;
+                current = current.left();
+            }
+        }
+        return found;
+    }
+
+    /**
+     * O(1)
+     */
+    private static int size(AVLTree<?> tree) {
+        return tree == null ? 0 : tree.size();
+    }
+
+    /**
+     * O(n) in order walk, amortized O(1) per step since every edge is crossed twice at most
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private AVLTree<T> current = tree != null ? tree.first() : null;
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public T next() {
+                if (current == null) {
+                    throw new NoSuchElementException();
+                }
+
+                T value = current.value();
+                current = current.next();
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Splits in halves by in order position, subtree sizes find where a half starts in O(log(n))
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        int characteristics = Spliterator.NONNULL | Spliterator.ORDERED | Spliterator.SORTED
+                | Spliterator.SIZED | Spliterator.SUBSIZED;
+        if (!allowDuplicates) {
+            characteristics |= Spliterator.DISTINCT;
+        }
+        return new TreeSpliterator<>(tree, 0, size(), characteristics);
+    }
+
+    /**
+     * Covers the in order positions [index, fence) of root
+     */
+    private static class TreeSpliterator<T> implements Spliterator<T> {
+        private static final int MIN_SPLIT = 1 << 10;
+
+        private final AVLTree<T> root;
+        private final int characteristics;
+        private int index;
+        private final int fence;
+        // node at index, found once traversal starts
+        private AVLTree<T> current;
+
+        TreeSpliterator(AVLTree<T> root, int index, int fence, int characteristics) {
+            this.root = root;
+            this.index = index;
+            this.fence = fence;
+            this.characteristics = characteristics;
+        }
+
+        /**
+         * O(1) amortized
+         */
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index >= fence) {
+                return false;
+            }
+
+            if (current == null) {
+                current = root.transversalOrderAt(index);
+            }
+
+            action.accept(current.value());
+            current = current.next();
+            index++;
+            return true;
+        }
+
+        /**
+         * O(log(n)), only finds the node where the second half starts
+         */
+        @Override
+        public Spliterator<T> trySplit() {
+            if (fence - index < MIN_SPLIT) {
+                return null;
+            }
+
+            int mid = (index + fence) >>> 1;
+            TreeSpliterator<T> prefix = new TreeSpliterator<>(root, index, mid, characteristics);
+            prefix.current = current;
+            index = mid;
+            current = null;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return characteristics;
+        }
+
+        /**
+         * Natural order
+         */
+        @Override
+        public Comparator<? super T> getComparator() {
+            return null;
+        }
+    }
+
 
     /**
      * O(n)
@@ -0,0 +1,661 @@
+package datastructures.set;
+
+import datastructures.TimSort;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Sorted set on a B+ tree.
+ * <p>
+ * {@link AVLTreeSet} is a binary tree, for tens of millions of values that's ~25 levels and every level is
+ * a cache miss. Here a node holds up to {fanOut} keys in an array:
+ * - inner nodes only route: child i holds the values in [keys[i - 1], keys[i]). A lookup binary searches
+ *   a node per level, so log_fanOut(n) levels, 4 or 5 for tens of millions with the default fan out
+ * - values are all in the leaves, and leaves are linked both ways. findNext, findPrevious, iterating and
+ *   range scans go over plain arrays and hop to the next leaf without going up the tree
+ * - a node that gets over {fanOut} keys splits in two halves, pushing a separator up. A node left under
+ *   half full borrows a key from a sibling, or merges with it when both fit in one node
+ * - building from an array sorts it and packs the leaves, then builds every level above them in O(n)
+ */
+public class BPlusTreeSet<T extends Comparable<T>> implements Set<T> {
+
+    private static final int DEFAULT_FAN_OUT = 64;
+
+    /**
+     * Keys get one extra slot, so a node can go over fanOut for a moment and be split after
+     */
+    private static class Node {
+        final Object[] keys;
+        int count;
+
+        Node(int fanOut) {
+            this.keys = new Object[fanOut + 1];
+        }
+    }
+
+    private static final class Leaf extends Node {
+        Leaf previous;
+        Leaf next;
+
+        Leaf(int fanOut) {
+            super(fanOut);
+        }
+    }
+
+    private static final class Inner extends Node {
+        // count + 1 children
+        final Node[] children;
+
+        Inner(int fanOut) {
+            super(fanOut);
+            this.children = new Node[fanOut + 2];
+        }
+    }
+
+    private final int fanOut;
+    // under this many keys a node borrows or merges, the root is allowed less
+    private final int minKeys;
+    private Node root;
+    private Leaf head;
+    private Leaf tail;
+    private int size;
+    private int height = 1;
+    // set by insert when a node splits, first key of the right half
+    private Object splitKey;
+
+    /**
+     * O(1)
+     */
+    public BPlusTreeSet() {
+        this(DEFAULT_FAN_OUT);
+    }
+
+    /**
+     * O(1)
+     *
+     * @param fanOut maximum keys in a node, a few cache lines of references is a good start
+     */
+    public BPlusTreeSet(int fanOut) {
+        if (fanOut < 3) {
+            throw new IllegalArgumentException("Nodes must hold at least 3 keys, got " + fanOut);
+        }
+
+        this.fanOut = fanOut;
+        this.minKeys = (fanOut - 1) / 2;
+        Leaf leaf = new Leaf(fanOut);
+        this.root = leaf;
+        this.head = leaf;
+        this.tail = leaf;
+    }
+
+    /**
+     * O(n*log(n)), O(n) when values are already sorted
+     */
+    public BPlusTreeSet(T[] values) {
+        this(values, DEFAULT_FAN_OUT);
+    }
+
+    /**
+     * O(n*log(n)), O(n) when values are already sorted. Bulk loaded, leaves are packed and
+     * duplicates keep the last one
+     */
+    public BPlusTreeSet(T[] values, int fanOut) {
+        this(fanOut);
+        if (values == null || values.length == 0) {
+            return;
+        }
+
+        T[] sorted = values.clone();
+        TimSort.sort(sorted);
+
+        int distinct = 0;
+        for (T value : sorted) {
+            if (distinct > 0 && value.compareTo(sorted[distinct - 1]) == 0) {
+                sorted[distinct - 1] = value;
+            } else {
+                sorted[distinct++] = value;
+            }
+        }
+        bulkLoad(sorted, distinct);
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public boolean contains(T value) {
+        return find(value) != null;
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T find(T value) {
+        if (value == null) {
+            return null;
+        }
+
+        Leaf leaf = findLeaf(value);
+        int i = lowerBound(leaf, value);
+        return i < leaf.count && value.compareTo(key(leaf, i)) == 0 ? key(leaf, i) : null;
+    }
+
+    /**
+     * O(log(n) + fanOut), a value already there is replaced
+     */
+    @Override
+    public void add(T value) {
+        if (value == null) {
+            return;
+        }
+
+        Node right = insert(root, value);
+        if (right != null) {
+            Inner newRoot = new Inner(fanOut);
+            newRoot.keys[0] = splitKey;
+            newRoot.children[0] = root;
+            newRoot.children[1] = right;
+            newRoot.count = 1;
+            root = newRoot;
+            height++;
+        }
+        splitKey = null;
+    }
+
+    /**
+     * O(log(n) + fanOut)
+     */
+    @Override
+    public T delete(T value) {
+        if (value == null) {
+            return null;
+        }
+
+        T deleted = delete(root, value);
+        if (root instanceof Inner inner && inner.count == 0) {
+            root = inner.children[0];
+            height--;
+        }
+        return deleted;
+    }
+
+    /**
+     * O(1)
+     */
+    @Override
+    public T first() {
+        return size == 0 ? null : key(head, 0);
+    }
+
+    /**
+     * O(1)
+     */
+    @Override
+    public T last() {
+        return size == 0 ? null : key(tail, tail.count - 1);
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T findPrevious(T value) {
+        if (value == null) {
+            return null;
+        }
+
+        Leaf leaf = findLeaf(value);
+        int i = lowerBound(leaf, value);
+        if (i == leaf.count || value.compareTo(key(leaf, i)) != 0) {
+            return null;
+        }
+
+        if (i > 0) {
+            return key(leaf, i - 1);
+        }
+        return leaf.previous != null ? key(leaf.previous, leaf.previous.count - 1) : null;
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T findNext(T value) {
+        if (value == null) {
+            return null;
+        }
+
+        Leaf leaf = findLeaf(value);
+        int i = lowerBound(leaf, value);
+        if (i == leaf.count || value.compareTo(key(leaf, i)) != 0) {
+            return null;
+        }
+
+        if (i + 1 < leaf.count) {
+            return key(leaf, i + 1);
+        }
+        return leaf.next != null ? key(leaf.next, 0) : null;
+    }
+
+    /**
+     * O(1)
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * O(n), leaf by leaf
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new LeafIterator(head, 0, null);
+    }
+
+    /**
+     * O(log(n)) to start, then O(1) per value, leaf by leaf.
+     * Lazy, values are read as the iterator goes. The set must not be modified while iterating
+     *
+     * @return values in [from, to) in order
+     */
+    public Iterator<T> range(T from, T to) {
+        Leaf leaf = findLeaf(from);
+        return new LeafIterator(leaf, lowerBound(leaf, from), to);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(),
+                Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.ORDERED | Spliterator.SORTED);
+    }
+
+    /**
+     * O(1) - Levels, 1 when the root is a leaf
+     */
+    int height() {
+        return height;
+    }
+
+    /**
+     * From leaf[i] on, up to the end or to the first value not smaller than to
+     */
+    private class LeafIterator implements Iterator<T> {
+        private final T to;
+        private Leaf leaf;
+        private int i;
+
+        LeafIterator(Leaf leaf, int i, T to) {
+            this.leaf = leaf;
+            this.i = i;
+            this.to = to;
+            skipFinishedLeaf();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return leaf != null && (to == null || key(leaf, i).compareTo(to) < 0);
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            T value = key(leaf, i++);
+            skipFinishedLeaf();
+            return value;
+        }
+
+        private void skipFinishedLeaf() {
+            if (leaf != null && i == leaf.count) {
+                leaf = leaf.next;
+                i = 0;
+            }
+        }
+    }
+
+    /**
+     * O(log(n))
+     */
+    private Leaf findLeaf(T value) {
+        Node node = root;
+        while (node instanceof Inner inner) {
+            node = inner.children[upperBound(inner, value)];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * O(log(fanOut))
+     *
+     * @return first index of node whose key is not smaller than value
+     */
+    private int lowerBound(Node node, T value) {
+        int lo = 0;
+        int hi = node.count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (key(node, mid).compareTo(value) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * O(log(fanOut))
+     *
+     * @return first index of node whose key is bigger than value, the child value belongs to
+     */
+    private int upperBound(Node node, T value) {
+        int lo = 0;
+        int hi = node.count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (key(node, mid).compareTo(value) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private T key(Node node, int i) {
+        return (T) node.keys[i];
+    }
+
+    /**
+     * O(log(n) + fanOut)
+     *
+     * @return new right sibling of node when it split, its first key is left in splitKey
+     */
+    private Node insert(Node node, T value) {
+        if (node instanceof Leaf leaf) {
+            int i = lowerBound(leaf, value);
+            if (i < leaf.count && value.compareTo(key(leaf, i)) == 0) { // override
+                leaf.keys[i] = value;
+                return null;
+            }
+
+            insertKey(leaf, i, value);
+            size++;
+            return leaf.count > fanOut ? splitLeaf(leaf) : null;
+        }
+
+        Inner inner = (Inner) node;
+        int i = upperBound(inner, value);
+        Node right = insert(inner.children[i], value);
+        if (right == null) {
+            return null;
+        }
+
+        // the separator goes at i, the new child right after the one that split
+        System.arraycopy(inner.children, i + 1, inner.children, i + 2, inner.count - i);
+        inner.children[i + 1] = right;
+        insertKey(inner, i, splitKey);
+        return inner.count > fanOut ? splitInner(inner) : null;
+    }
+
+    /**
+     * O(fanOut) - The upper half goes to a new leaf linked right after it
+     */
+    private Leaf splitLeaf(Leaf leaf) {
+        int half = leaf.count / 2;
+        Leaf right = new Leaf(fanOut);
+        right.count = leaf.count - half;
+        System.arraycopy(leaf.keys, half, right.keys, 0, right.count);
+        Arrays.fill(leaf.keys, half, leaf.count, null);
+        leaf.count = half;
+
+        right.previous = leaf;
+        right.next = leaf.next;
+        if (right.next == null) {
+            tail = right;
+        } else {
+            right.next.previous = right;
+        }
+        leaf.next = right;
+
+        splitKey = right.keys[0];
+        return right;
+    }
+
+    /**
+     * O(fanOut) - The middle key goes up, the keys and children after it go to a new node
+     */
+    private Inner splitInner(Inner inner) {
+        int mid = inner.count / 2;
+        Inner right = new Inner(fanOut);
+        right.count = inner.count - mid - 1;
+        System.arraycopy(inner.keys, mid + 1, right.keys, 0, right.count);
+        System.arraycopy(inner.children, mid + 1, right.children, 0, right.count + 1);
+
+        splitKey = inner.keys[mid];
+        Arrays.fill(inner.keys, mid, inner.count, null);
+        Arrays.fill(inner.children, mid + 1, inner.count + 1, null);
+        inner.count = mid;
+        return right;
+    }
+
+    /**
+     * O(log(n) + fanOut)
+     */
+    private T delete(Node node, T value) {
+        if (node instanceof Leaf leaf) {
+            int i = lowerBound(leaf, value);
+            if (i == leaf.count || value.compareTo(key(leaf, i)) != 0) {
+                return null;
+            }
+
+            T deleted = key(leaf, i);
+            removeKey(leaf, i);
+            size--;
+            return deleted;
+        }
+
+        // separators may keep a deleted key around, they still route right
+        Inner inner = (Inner) node;
+        int i = upperBound(inner, value);
+        T deleted = delete(inner.children[i], value);
+        if (deleted != null && inner.children[i].count < minKeys) {
+            fixUnderflow(inner, i);
+        }
+        return deleted;
+    }
+
+    /**
+     * O(fanOut) - Child i of parent is under minKeys: it borrows a key from a sibling that has some to spare,
+     * otherwise it's merged with one. An inner node always has a sibling for each child
+     */
+    private void fixUnderflow(Inner parent, int i) {
+        if (i > 0 && parent.children[i - 1].count > minKeys) {
+            borrowFromLeft(parent, i);
+        } else if (i < parent.count && parent.children[i + 1].count > minKeys) {
+            borrowFromRight(parent, i);
+        } else if (i > 0) {
+            merge(parent, i - 1);
+        } else {
+            merge(parent, i);
+        }
+    }
+
+    /**
+     * O(fanOut)
+     */
+    private void borrowFromLeft(Inner parent, int i) {
+        Node left = parent.children[i - 1];
+        Node child = parent.children[i];
+
+        if (child instanceof Leaf) {
+            insertKey(child, 0, left.keys[left.count - 1]);
+            removeKey(left, left.count - 1);
+            parent.keys[i - 1] = child.keys[0];
+            return;
+        }
+
+        // the separator comes down, the last key of left goes up, with the last child of left moving over
+        Inner leftInner = (Inner) left;
+        Inner childInner = (Inner) child;
+        System.arraycopy(childInner.children, 0, childInner.children, 1, childInner.count + 1);
+        childInner.children[0] = leftInner.children[leftInner.count];
+        leftInner.children[leftInner.count] = null;
+        insertKey(childInner, 0, parent.keys[i - 1]);
+        parent.keys[i - 1] = leftInner.keys[leftInner.count - 1];
+        removeKey(leftInner, leftInner.count - 1);
+    }
+
+    /**
+     * O(fanOut)
+     */
+    private void borrowFromRight(Inner parent, int i) {
+        Node child = parent.children[i];
+        Node right = parent.children[i + 1];
+
+        if (child instanceof Leaf) {
+            insertKey(child, child.count, right.keys[0]);
+            removeKey(right, 0);
+            parent.keys[i] = right.keys[0];
+            return;
+        }
+
+        // the separator comes down, the first key of right goes up, with the first child of right moving over
+        Inner childInner = (Inner) child;
+        Inner rightInner = (Inner) right;
+        childInner.children[childInner.count + 1] = rightInner.children[0];
+        insertKey(childInner, childInner.count, parent.keys[i]);
+        parent.keys[i] = rightInner.keys[0];
+        System.arraycopy(rightInner.children, 1, rightInner.children, 0, rightInner.count);
+        rightInner.children[rightInner.count] = null;
+        removeKey(rightInner, 0);
+    }
+
+    /**
+     * O(fanOut) - Child j + 1 of parent is emptied into child j, and removed with the separator between them
+     */
+    private void merge(Inner parent, int j) {
+        Node left = parent.children[j];
+        Node right = parent.children[j + 1];
+
+        if (left instanceof Leaf leftLeaf) {
+            Leaf rightLeaf = (Leaf) right;
+            System.arraycopy(rightLeaf.keys, 0, leftLeaf.keys, leftLeaf.count, rightLeaf.count);
+            leftLeaf.count += rightLeaf.count;
+            leftLeaf.next = rightLeaf.next;
+            if (leftLeaf.next == null) {
+                tail = leftLeaf;
+            } else {
+                leftLeaf.next.previous = leftLeaf;
+            }
+        } else {
+            Inner leftInner = (Inner) left;
+            Inner rightInner = (Inner) right;
+            leftInner.keys[leftInner.count] = parent.keys[j];
+            System.arraycopy(rightInner.keys, 0, leftInner.keys, leftInner.count + 1, rightInner.count);
+            System.arraycopy(rightInner.children, 0, leftInner.children, leftInner.count + 1, rightInner.count + 1);
+            leftInner.count += rightInner.count + 1;
+        }
+
+        System.arraycopy(parent.children, j + 2, parent.children, j + 1, parent.count - j - 1);
+        parent.children[parent.count] = null;
+        removeKey(parent, j);
+    }
+
+    /**
+     * O(fanOut)
+     */
+    private static void insertKey(Node node, int i, Object key) {
+        System.arraycopy(node.keys, i, node.keys, i + 1, node.count - i);
+        node.keys[i] = key;
+        node.count++;
+    }
+
+    /**
+     * O(fanOut)
+     */
+    private static void removeKey(Node node, int i) {
+        System.arraycopy(node.keys, i + 1, node.keys, i, node.count - i - 1);
+        node.keys[--node.count] = null;
+    }
+
+    /**
+     * O(n) - sorted[0, n) is sorted and distinct. Leaves are packed evenly, then every level gets the
+     * fewest nodes that can hold the one below, also evenly. Every node ends up between half and completely full
+     */
+    private void bulkLoad(Object[] sorted, int n) {
+        int leaves = (n + fanOut - 1) / fanOut;
+        Node[] level = new Node[leaves];
+        Object[] firsts = new Object[leaves];
+
+        int from = 0;
+        Leaf previous = null;
+        for (int l = 0; l < leaves; l++) {
+            Leaf leaf = new Leaf(fanOut);
+            leaf.count = (n - from) / (leaves - l);
+            System.arraycopy(sorted, from, leaf.keys, 0, leaf.count);
+
+            leaf.previous = previous;
+            if (previous != null) {
+                previous.next = leaf;
+            }
+            previous = leaf;
+
+            level[l] = leaf;
+            firsts[l] = sorted[from];
+            from += leaf.count;
+        }
+        head = (Leaf) level[0];
+        tail = previous;
+
+        // each level is written over the one below, a parent is never ahead of its first child
+        int nodes = leaves;
+        while (nodes > 1) {
+            int parents = (nodes + fanOut) / (fanOut + 1);
+            int child = 0;
+            for (int p = 0; p < parents; p++) {
+                int children = (nodes - child) / (parents - p);
+                Inner inner = new Inner(fanOut);
+                for (int c = 0; c < children; c++) {
+                    inner.children[c] = level[child + c];
+                    if (c > 0) {
+                        inner.keys[c - 1] = firsts[child + c];
+                    }
+                }
+                inner.count = children - 1;
+
+                level[p] = inner;
+                firsts[p] = firsts[child];
+                child += children;
+            }
+            nodes = parents;
+            height++;
+        }
+
+        root = level[0];
+        size = n;
+    }
+
+    /**
+     * O(n)
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (T value : this) {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(value);
+        }
+        return builder.append(']').toString();
+    }
+}
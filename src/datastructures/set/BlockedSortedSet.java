@@ -0,0 +1,443 @@
+package datastructures.set;
+
+import datastructures.TimSort;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Sorted set stored in fixed size sorted blocks (a B-list, or tiered vector).
+ * <p>
+ * {@link SortedSequenceSet} keeps everything in a single array, so an insert or a delete moves every value after it.
+ * Here values are split in blocks of at most {blockSize}, kept in order in a directory:
+ * - a lookup binary searches the first value of every block, then inside the block. O(log(n)) and the
+ *   directory keeps the first values aside, so finding the block doesn't open any other
+ * - an insert or a delete moves values of its own block only. A full block splits in two halves,
+ *   and a block left almost empty is merged into a neighbour, which moves the directory (n/blockSize references)
+ * - scans go block by block over plain arrays, dense and in order
+ */
+public class BlockedSortedSet<T extends Comparable<T>> implements Set<T> {
+
+    private static final int DEFAULT_BLOCK_SIZE = 512;
+    private static final int INITIAL_BLOCKS = 4;
+
+    private final int blockSize;
+    // blocks[b] holds its values in [0, sizes[b]), firsts[b] == blocks[b][0]
+    private Object[][] blocks;
+    private Object[] firsts;
+    private int[] sizes;
+    private int blockCount;
+    private int size;
+
+    /**
+     * O(1)
+     */
+    public BlockedSortedSet() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * O(1)
+     *
+     * @param blockSize maximum values in a block, a few cache lines of references is a good start
+     */
+    public BlockedSortedSet(int blockSize) {
+        if (blockSize < 2) {
+            throw new IllegalArgumentException("Blocks must hold at least 2 values, got " + blockSize);
+        }
+
+        this.blockSize = blockSize;
+        this.blocks = new Object[INITIAL_BLOCKS][];
+        this.firsts = new Object[INITIAL_BLOCKS];
+        this.sizes = new int[INITIAL_BLOCKS];
+    }
+
+    /**
+     * O(n*log(n)), O(n) when values are already sorted
+     */
+    public BlockedSortedSet(T[] values) {
+        this(values, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * O(n*log(n)), O(n) when values are already sorted. Blocks are filled up, duplicates keep the last one
+     */
+    public BlockedSortedSet(T[] values, int blockSize) {
+        this(blockSize);
+        if (values == null || values.length == 0) {
+            return;
+        }
+
+        T[] sorted = values.clone();
+        TimSort.sort(sorted);
+
+        Object[] block = null;
+        int last = -1;
+        for (T value : sorted) {
+            if (block != null && value.compareTo((T) block[last]) == 0) {
+                block[last] = value;
+                continue;
+            }
+
+            if (block == null || last == blockSize - 1) {
+                block = new Object[blockSize];
+                insertBlock(blockCount, block, 0);
+                last = -1;
+            }
+            block[++last] = value;
+            sizes[blockCount - 1]++;
+            size++;
+        }
+
+        for (int b = 0; b < blockCount; b++) {
+            firsts[b] = blocks[b][0];
+        }
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public boolean contains(T value) {
+        return find(value) != null;
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T find(T value) {
+        if (size == 0) {
+            return null;
+        }
+
+        int block = findBlock(value);
+        int i = lowerBound(block, value);
+        return i < sizes[block] && valueAt(block, i).compareTo(value) == 0 ? valueAt(block, i) : null;
+    }
+
+    /**
+     * O(log(n) + blockSize), amortized O(n/blockSize) more when a block splits
+     */
+    @Override
+    public void add(T value) {
+        if (size == 0) {
+            Object[] block = new Object[blockSize];
+            block[0] = value;
+            insertBlock(0, block, 1);
+            size = 1;
+            return;
+        }
+
+        int block = findBlock(value);
+        int i = lowerBound(block, value);
+        if (i < sizes[block] && valueAt(block, i).compareTo(value) == 0) { // override
+            blocks[block][i] = value;
+            if (i == 0) {
+                firsts[block] = value;
+            }
+            return;
+        }
+
+        if (sizes[block] == blockSize) {
+            split(block);
+            if (i > sizes[block]) {
+                i -= sizes[block];
+                block++;
+            }
+        }
+
+        Object[] values = blocks[block];
+        System.arraycopy(values, i, values, i + 1, sizes[block] - i);
+        values[i] = value;
+        sizes[block]++;
+        if (i == 0) {
+            firsts[block] = value;
+        }
+        size++;
+    }
+
+    /**
+     * O(log(n) + blockSize), O(n/blockSize) more when a block is merged or emptied
+     */
+    @Override
+    public T delete(T value) {
+        if (size == 0) {
+            return null;
+        }
+
+        int block = findBlock(value);
+        int i = lowerBound(block, value);
+        if (i == sizes[block] || valueAt(block, i).compareTo(value) != 0) {
+            return null;
+        }
+
+        T deleted = valueAt(block, i);
+        Object[] values = blocks[block];
+        System.arraycopy(values, i + 1, values, i, sizes[block] - i - 1);
+        values[--sizes[block]] = null;
+        size--;
+
+        if (sizes[block] == 0) {
+            removeBlock(block);
+            return deleted;
+        }
+
+        if (i == 0) {
+            firsts[block] = values[0];
+        }
+        mergeIfSparse(block);
+        return deleted;
+    }
+
+    /**
+     * O(1)
+     */
+    @Override
+    public T first() {
+        return size == 0 ? null : valueAt(0, 0);
+    }
+
+    /**
+     * O(1)
+     */
+    @Override
+    public T last() {
+        return size == 0 ? null : valueAt(blockCount - 1, sizes[blockCount - 1] - 1);
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T findPrevious(T value) {
+        if (size == 0) {
+            return null;
+        }
+
+        int block = findBlock(value);
+        int i = lowerBound(block, value);
+        if (i == sizes[block] || valueAt(block, i).compareTo(value) != 0) {
+            return null;
+        }
+
+        if (i > 0) {
+            return valueAt(block, i - 1);
+        }
+        return block > 0 ? valueAt(block - 1, sizes[block - 1] - 1) : null;
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T findNext(T value) {
+        if (size == 0) {
+            return null;
+        }
+
+        int block = findBlock(value);
+        int i = lowerBound(block, value);
+        if (i == sizes[block] || valueAt(block, i).compareTo(value) != 0) {
+            return null;
+        }
+
+        if (i + 1 < sizes[block]) {
+            return valueAt(block, i + 1);
+        }
+        return block + 1 < blockCount ? valueAt(block + 1, 0) : null;
+    }
+
+    /**
+     * O(1)
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * O(n), block by block
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int block = 0;
+            private int pos = 0;
+
+            @Override
+            public boolean hasNext() {
+                return block < blockCount;
+            }
+
+            @Override
+            public T next() {
+                if (block >= blockCount) {
+                    throw new NoSuchElementException();
+                }
+
+                T value = valueAt(block, pos++);
+                if (pos == sizes[block]) {
+                    block++;
+                    pos = 0;
+                }
+                return value;
+            }
+        };
+    }
+
+    /**
+     * O(n), plain loops over every block
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (int block = 0; block < blockCount; block++) {
+            Object[] values = blocks[block];
+            for (int i = 0; i < sizes[block]; i++) {
+                action.accept((T) values[i]);
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(),
+                Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.ORDERED | Spliterator.SORTED);
+    }
+
+    /**
+     * O(1)
+     */
+    int blockCount() {
+        return blockCount;
+    }
+
+    /**
+     * O(log(n/blockSize))
+     *
+     * @return last block whose first value is not bigger than value, 0 if value goes before everything
+     */
+    private int findBlock(T value) {
+        int lo = 0;
+        int hi = blockCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (((T) firsts[mid]).compareTo(value) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return Math.max(lo - 1, 0);
+    }
+
+    /**
+     * O(log(blockSize))
+     *
+     * @return first index of the block whose value is not smaller than value
+     */
+    private int lowerBound(int block, T value) {
+        Object[] values = blocks[block];
+        int lo = 0;
+        int hi = sizes[block];
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (((T) values[mid]).compareTo(value) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private T valueAt(int block, int i) {
+        return (T) blocks[block][i];
+    }
+
+    /**
+     * O(blockSize + n/blockSize) - The upper half of a full block goes to a new block right after it
+     */
+    private void split(int block) {
+        Object[] values = blocks[block];
+        int half = sizes[block] / 2;
+        int moved = sizes[block] - half;
+
+        Object[] right = new Object[blockSize];
+        System.arraycopy(values, half, right, 0, moved);
+        Arrays.fill(values, half, sizes[block], null);
+        sizes[block] = half;
+        insertBlock(block + 1, right, moved);
+    }
+
+    /**
+     * O(blockSize + n/blockSize) - When a block and a neighbour would fit together in half a block,
+     * the right one is emptied into the left one. Keeps blocks reasonably full, without merging back and forth
+     */
+    private void mergeIfSparse(int block) {
+        int left;
+        if (block + 1 < blockCount && sizes[block] + sizes[block + 1] <= blockSize / 2) {
+            left = block;
+        } else if (block > 0 && sizes[block - 1] + sizes[block] <= blockSize / 2) {
+            left = block - 1;
+        } else {
+            return;
+        }
+
+        System.arraycopy(blocks[left + 1], 0, blocks[left], sizes[left], sizes[left + 1]);
+        sizes[left] += sizes[left + 1];
+        removeBlock(left + 1);
+    }
+
+    /**
+     * O(n/blockSize)
+     */
+    private void insertBlock(int at, Object[] block, int count) {
+        if (blockCount == blocks.length) {
+            int capacity = blocks.length * 2;
+            blocks = Arrays.copyOf(blocks, capacity);
+            firsts = Arrays.copyOf(firsts, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+
+        System.arraycopy(blocks, at, blocks, at + 1, blockCount - at);
+        System.arraycopy(firsts, at, firsts, at + 1, blockCount - at);
+        System.arraycopy(sizes, at, sizes, at + 1, blockCount - at);
+        blocks[at] = block;
+        firsts[at] = block[0];
+        sizes[at] = count;
+        blockCount++;
+    }
+
+    /**
+     * O(n/blockSize)
+     */
+    private void removeBlock(int at) {
+        System.arraycopy(blocks, at + 1, blocks, at, blockCount - at - 1);
+        System.arraycopy(firsts, at + 1, firsts, at, blockCount - at - 1);
+        System.arraycopy(sizes, at + 1, sizes, at, blockCount - at - 1);
+        blockCount--;
+        blocks[blockCount] = null;
+        firsts[blockCount] = null;
+        sizes[blockCount] = 0;
+    }
+
+    /**
+     * O(n)
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        forEach(value -> {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(value);
+        });
+        return builder.append(']').toString();
+    }
+}
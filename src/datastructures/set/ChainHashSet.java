@@ -2,22 +2,69 @@ package datastructures.set;
 
 import datastructures.sequence.LinkedSequence;
 
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Each bucket is a {@link LinkedSequence} chain. When a chain reaches {MAX_CHAIN_SIZE} the table doubles.
+ * <p>
+ * Keys that genuinely collide are still in the same chain after growing, so that chain
+ * just keeps getting longer, lookups degrade to O(n) and the next growth throws. With tree buckets ({@link #withTreeBuckets()})
+ * a full chain of {@link Comparable} values becomes an {@link AVLTreeSet} instead, so the worst
+ * case of a bucket is O(log(n)) and there is no global resize. The table still doubles when a chain
+ * fills up and there are more values than buckets, that's plain load, not collisions.
+ * <p>
+ * Same as {@link AVLTreeSet}, values must be comparable with each other for tree buckets, and inside a tree bucket
+ * values are found with compareTo instead of equals, so the two have to agree. A chain holding any value that is not
+ * {@link Comparable} stays a chain.
+ * <p>
+ * Growing rehashes everything at once, a latency spike on big sets. With incremental resize
+ * ({@link #withIncrementalResize()}) the old table is kept next to the new one, and every
+ * add/find/contains/delete moves at most {MIGRATION_STEP} old buckets, so no operation pays O(n).
+ * While migrating, values are looked up in both tables and the new table doesn't grow again
+ * (chains just get longer until the migration is done). first/last/findNext/findPrevious
+ * don't migrate, so chaining them walks a stable order: new table first, then the old one.
+ */
 public class ChainHashSet<T> implements Set<T> {
 
     private static final int DEFAULT_CAPACITY = 16;
     private static final int GROWTH_RATIO = 2;
     private static final int MAX_CHAIN_SIZE = 10;
+    private static final int MIGRATION_STEP = 4;
+    private final boolean treeBuckets;
+    private final boolean incrementalResize;
     private int size;
     private Object[] hashTable;
+    // only while migrating, buckets before {migrated} were already moved to hashTable
+    private Object[] oldHashTable;
+    private int migrated;
 
     /**
      * O(1)
      */
-    public ChainHashSet(int capacity) {
+    private ChainHashSet(int capacity, boolean treeBuckets, boolean incrementalResize) {
         hashTable = new Object[capacity];
         size = 0;
+        this.treeBuckets = treeBuckets;
+        this.incrementalResize = incrementalResize;
+    }
+
+    /**
+     * O(1)
+     */
+    public ChainHashSet(int capacity, boolean treeBuckets) {
+        this(capacity, treeBuckets, false);
+    }
+
+    /**
+     * O(1)
+     */
+    public ChainHashSet(int capacity) {
+        this(capacity, false);
     }
 
     /**
@@ -27,12 +74,37 @@ public class ChainHashSet<T> implements Set<T> {
         this(DEFAULT_CAPACITY);
     }
 
+    /**
+     * O(1)
+     */
+    public static <T> ChainHashSet<T> withTreeBuckets() {
+        return new ChainHashSet<>(DEFAULT_CAPACITY, true);
+    }
+
+    /**
+     * O(1)
+     */
+    public static <T> ChainHashSet<T> withIncrementalResize(int capacity) {
+        return new ChainHashSet<>(capacity, false, true);
+    }
+
+    /**
+     * O(1)
+     */
+    public static <T> ChainHashSet<T> withIncrementalResize() {
+        return withIncrementalResize(DEFAULT_CAPACITY);
+    }
+
     /**
      * O(n)
      */
     public ChainHashSet(T[] values) {
+        this.treeBuckets = false;
+        this.incrementalResize = false;
         if (values == null || values.length < DEFAULT_CAPACITY) {
             hashTable = new Object[DEFAULT_CAPACITY];
+        } else {
+            hashTable = new Object[values.length];
         }
 
         if (values != null) {
@@ -59,7 +131,24 @@ public class ChainHashSet<T> implements Set<T> {
      */
     @Override
     public T find(T value) {
+        migrate();
+        T found = find(hashTable, value);
+        if (found == null && oldHashTable != null) {
+            found = find(oldHashTable, value);
+        }
+
+        return found;
+    }
+
+    /**
+     * O(1) considering that chain doesn't grow bigger than {ChainHashSet.MAX_CHAIN_SIZE}
+     */
+    private T find(Object[] hashTable, T value) {
         int pos = findHashPosition(value, hashTable);  // O(1)
+        if (hashTable[pos] instanceof AVLTreeSet) {
+            return fromTree(treeAt(pos, hashTable).find(toTree(value))); // O(log(n))
+        }
+
         LinkedSequence<T> chain = findChain(pos, hashTable);  // O(1)
 
         for (int i = 0; i < chain.size(); i++) {  // O(10)
@@ -77,6 +166,11 @@ public class ChainHashSet<T> implements Set<T> {
      */
     @Override
     public void add(T value) {
+        migrate();
+        if (oldHashTable != null && find(oldHashTable, value) != null) {
+            return;
+        }
+
         if (add(hashTable, value, true)) {
             size++;
         }
@@ -88,6 +182,16 @@ public class ChainHashSet<T> implements Set<T> {
      */
     private boolean add(Object[] hashTable, T value, boolean allowGrowth) {
         int pos = findHashPosition(value, hashTable);
+        if (hashTable[pos] instanceof AVLTreeSet) {
+            AVLTreeSet<Comparable<Object>> tree = treeAt(pos, hashTable);
+            if (tree.find(toTree(value)) != null) {
+                return false;
+            }
+
+            tree.add(toTree(value));
+            return true;
+        }
+
         LinkedSequence<T> chain = findChain(pos, hashTable);
 
         for (int i = 0; i < chain.size(); i++) {
@@ -98,15 +202,33 @@ public class ChainHashSet<T> implements Set<T> {
         }
 
         if (chain.size() == MAX_CHAIN_SIZE) {
-            if (!allowGrowth) {
-                throw new IllegalStateException("Bad implementation where growth needed to happen twice. " +
-                        "This will only occur if after growth we have high collision factor still, not " +
-                        "spreading the values as it should. If this happen, FIND A BETTER HASH ALGORITHM");
+            // more values than buckets, growing spreads them. Otherwise, it's collisions
+            boolean loaded = allowGrowth && size >= hashTable.length;
+            if (treeBuckets && value instanceof Comparable && allComparable(chain) && !loaded) {
+                AVLTreeSet<Comparable<Object>> tree = treeify(chain);
+                tree.add(toTree(value));
+                hashTable[pos] = tree;
+                return true;
             }
 
-            hashTable = grow();
-            pos = findHashPosition(value, hashTable);
-            chain = findChain(pos, hashTable);
+            if (incrementalResize) {
+                // a second growth while migrating would need a third table
+                if (allowGrowth && oldHashTable == null) {
+                    hashTable = startResize();
+                    pos = findHashPosition(value, hashTable);
+                    chain = findChain(pos, hashTable);
+                }
+            } else {
+                if (!allowGrowth) {
+                    throw new IllegalStateException("Bad implementation where growth needed to happen twice. " +
+                            "This will only occur if after growth we have high collision factor still, not " +
+                            "spreading the values as it should. If this happen, FIND A BETTER HASH ALGORITHM");
+                }
+
+                hashTable = grow();
+                pos = findHashPosition(value, hashTable);
+                chain = findChain(pos, hashTable);
+            }
         }
 
         chain.insertLast(value);
@@ -119,7 +241,32 @@ public class ChainHashSet<T> implements Set<T> {
      */
     @Override
     public T delete(T value) {
+        migrate();
+        T refToValue = delete(hashTable, value);
+        if (refToValue == null && oldHashTable != null) {
+            refToValue = delete(oldHashTable, value);
+        }
+
+        if (refToValue != null) {
+            size--;
+        }
+        return refToValue;
+    }
+
+    /**
+     * O(1)
+     */
+    private T delete(Object[] hashTable, T value) {
         int pos = findHashPosition(value, hashTable);
+        if (hashTable[pos] instanceof AVLTreeSet) {
+            AVLTreeSet<Comparable<Object>> tree = treeAt(pos, hashTable);
+            T refToValue = fromTree(tree.delete(toTree(value)));
+            if (refToValue != null && tree.size() == 0) {
+                hashTable[pos] = null;
+            }
+            return refToValue;
+        }
+
         LinkedSequence<T> chain = findChain(pos, hashTable);
 
         if (chain.size() == 0) {
@@ -130,7 +277,6 @@ public class ChainHashSet<T> implements Set<T> {
             T refToValue = chain.at(i);
             if (Objects.equals(value, refToValue)) {
                 chain.deleteAt(i);
-                size--;
                 return refToValue;
             }
         }
@@ -147,14 +293,7 @@ public class ChainHashSet<T> implements Set<T> {
             return null;
         }
 
-        for (int i = 0; i < hashTable.length; i++) {
-            T value = findChain(i, hashTable).first();
-            if (value != null) {
-                return value;
-            }
-        }
-
-        return null;
+        return firstAfter(hashTable, -1);
     }
 
     /**
@@ -166,14 +305,8 @@ public class ChainHashSet<T> implements Set<T> {
             return null;
         }
 
-        for (int i = hashTable.length - 1; i >= 0; i--) {
-            T value = findChain(i, hashTable).last();
-            if (value != null) {
-                return value;
-            }
-        }
-
-        return null;
+        Object[] lastTable = oldHashTable != null ? oldHashTable : hashTable;
+        return lastBefore(lastTable, lastTable.length);
     }
 
     /**
@@ -181,7 +314,18 @@ public class ChainHashSet<T> implements Set<T> {
      */
     @Override
     public T findPrevious(T value) {
+        Object[] hashTable = tableOf(value);
         int chainPos = findHashPosition(value, hashTable);
+        if (hashTable[chainPos] instanceof AVLTreeSet) {
+            AVLTreeSet<Comparable<Object>> tree = treeAt(chainPos, hashTable);
+            if (tree.find(toTree(value)) == null) {
+                return null;
+            }
+
+            T previous = fromTree(tree.findPrevious(toTree(value)));
+            return previous != null ? previous : lastBefore(hashTable, chainPos);
+        }
+
         LinkedSequence<T> chain = findChain(chainPos, hashTable);
 
         boolean found = false;
@@ -205,13 +349,25 @@ public class ChainHashSet<T> implements Set<T> {
         }
 
         // if it was found but not returned, it's in some previous chain;
+        return lastBefore(hashTable, chainPos);
+    }
+
+    /**
+     * O(n)
+     */
+    private T lastBefore(Object[] hashTable, int chainPos) {
         for (int chainIdx = chainPos - 1; chainIdx >= 0; chainIdx--) {
-            LinkedSequence<T> nextChain = findChain(chainIdx, hashTable);
-            if (nextChain.size() > 0) {
-                return nextChain.last();
+            T last = bucketLast(chainIdx, hashTable);
+            if (last != null) {
+                return last;
             }
         }
 
+        // while migrating, the new table comes before the old one
+        if (hashTable == oldHashTable) {
+            return lastBefore(this.hashTable, this.hashTable.length);
+        }
+
         // This will happen in case there is no next
         return null;
     }
@@ -221,7 +377,18 @@ public class ChainHashSet<T> implements Set<T> {
      */
     @Override
     public T findNext(T value) {
+        Object[] hashTable = tableOf(value); //O(1)
         int chainPos = findHashPosition(value, hashTable); //O(1)
+        if (hashTable[chainPos] instanceof AVLTreeSet) {
+            AVLTreeSet<Comparable<Object>> tree = treeAt(chainPos, hashTable);
+            if (tree.find(toTree(value)) == null) {
+                return null;
+            }
+
+            T next = fromTree(tree.findNext(toTree(value))); // O(log(n))
+            return next != null ? next : firstAfter(hashTable, chainPos);
+        }
+
         LinkedSequence<T> chain = findChain(chainPos, hashTable); //O(1)
 
         boolean found = false;
@@ -244,17 +411,41 @@ public class ChainHashSet<T> implements Set<T> {
         }
 
         // if it was found but not returned, it's in some next chain;
+        return firstAfter(hashTable, chainPos);
+    }
+
+    /**
+     * O(n)
+     */
+    private T firstAfter(Object[] hashTable, int chainPos) {
         for (int chainIdx = chainPos + 1; chainIdx < hashTable.length; chainIdx++) { //O(n)
-            LinkedSequence<T> nextChain = findChain(chainIdx, hashTable);
-            if (nextChain.size() > 0) {
-                return nextChain.first();
+            T first = bucketFirst(chainIdx, hashTable);
+            if (first != null) {
+                return first;
             }
         }
 
+        // while migrating, the old table comes after the new one
+        if (hashTable == this.hashTable && oldHashTable != null) {
+            return firstAfter(oldHashTable, migrated - 1);
+        }
+
         // This will happen in case there is no next
         return null;
     }
 
+    /**
+     * O(1)
+     * Table holding value, the old one only while migrating
+     */
+    private Object[] tableOf(T value) {
+        if (oldHashTable != null && find(oldHashTable, value) != null) {
+            return oldHashTable;
+        }
+
+        return hashTable;
+    }
+
     @Override
     public int size() {
         return size;
@@ -275,6 +466,224 @@ public class ChainHashSet<T> implements Set<T> {
         return chain;
     }
 
+    /**
+     * O(1) - Tree buckets only ever get values that were Comparable (see {@link #treeify}), typed as comparable
+     * with anything since T itself isn't bound to Comparable
+     */
+    @SuppressWarnings("unchecked")
+    private AVLTreeSet<Comparable<Object>> treeAt(int pos, Object[] hashTable) {
+        return (AVLTreeSet<Comparable<Object>>) hashTable[pos];
+    }
+
+    /**
+     * O(1) - A value going into a tree bucket, only called for values that are Comparable
+     */
+    @SuppressWarnings("unchecked")
+    private Comparable<Object> toTree(T value) {
+        return (Comparable<Object>) value;
+    }
+
+    /**
+     * O(1) - A value coming out of a tree bucket, it went in as a T
+     */
+    @SuppressWarnings("unchecked")
+    private T fromTree(Comparable<Object> value) {
+        return (T) value;
+    }
+
+    /**
+     * O(1) for chains, O(log(n)) for trees
+     */
+    private T bucketFirst(int pos, Object[] hashTable) {
+        if (hashTable[pos] instanceof AVLTreeSet) {
+            return fromTree(treeAt(pos, hashTable).first());
+        }
+
+        return findChain(pos, hashTable).first();
+    }
+
+    /**
+     * O(1) for chains, O(log(n)) for trees
+     */
+    private T bucketLast(int pos, Object[] hashTable) {
+        if (hashTable[pos] instanceof AVLTreeSet) {
+            return fromTree(treeAt(pos, hashTable).last());
+        }
+
+        return findChain(pos, hashTable).last();
+    }
+
+    /**
+     * O(MAX_CHAIN_SIZE * log(MAX_CHAIN_SIZE))
+     */
+    private AVLTreeSet<Comparable<Object>> treeify(LinkedSequence<T> chain) {
+        AVLTreeSet<Comparable<Object>> tree = new AVLTreeSet<>();
+        while (chain.size() > 0) {
+            tree.add(toTree(chain.deleteFirst()));
+        }
+        return tree;
+    }
+
+    /**
+     * O(MAX_CHAIN_SIZE) - A chain can only become a tree if every value in it can be compared
+     */
+    private boolean allComparable(LinkedSequence<T> chain) {
+        for (T value : chain) {
+            if (!(value instanceof Comparable)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * O(n + capacity), bucket by bucket (the old table last while migrating), each bucket with its own iterator.
+     * Doesn't migrate.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        Object[][] tables = oldHashTable != null ? new Object[][]{hashTable, oldHashTable} : new Object[][]{hashTable};
+        return new Iterator<>() {
+            private int table = 0;
+            private int bucket = -1;
+            private Iterator<T> inBucket = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!inBucket.hasNext()) {
+                    bucket++;
+                    if (bucket == tables[table].length) {
+                        if (table == tables.length - 1) {
+                            bucket--;
+                            return false;
+                        }
+                        table++;
+                        bucket = 0;
+                    }
+                    inBucket = bucketIterator(tables[table][bucket]);
+                }
+                return true;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return inBucket.next();
+            }
+        };
+    }
+
+    /**
+     * Splits in halves by bucket range, the old table being a continuation of the new one while migrating.
+     * Only the whole set has an exact size, halves are an estimate.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        Object[][] tables = oldHashTable != null ? new Object[][]{hashTable, oldHashTable} : new Object[][]{hashTable};
+        int buckets = hashTable.length + (oldHashTable != null ? oldHashTable.length : 0);
+        return new BucketSpliterator(tables, 0, buckets, size, Spliterator.SIZED);
+    }
+
+    /**
+     * Covers the buckets [bucket, fence), counting the buckets of every table one after the other
+     */
+    private class BucketSpliterator implements Spliterator<T> {
+        private final Object[][] tables;
+        private final int fence;
+        private int bucket;
+        private int sized;
+        private long estimate;
+        private Iterator<T> inBucket = Collections.emptyIterator();
+
+        BucketSpliterator(Object[][] tables, int bucket, int fence, long estimate, int sized) {
+            this.tables = tables;
+            this.bucket = bucket;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.sized = sized;
+        }
+
+        /**
+         * O(1) amortized
+         */
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (!inBucket.hasNext()) {
+                if (bucket >= fence) {
+                    return false;
+                }
+                inBucket = bucketIterator(bucketAt(bucket++));
+            }
+
+            action.accept(inBucket.next());
+            return true;
+        }
+
+        /**
+         * O(1)
+         */
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (bucket + fence) >>> 1;
+            // a bucket in progress stays with this half
+            if (mid <= bucket || inBucket.hasNext()) {
+                return null;
+            }
+
+            estimate >>>= 1;
+            sized = 0;
+            BucketSpliterator prefix = new BucketSpliterator(tables, bucket, mid, estimate, 0);
+            bucket = mid;
+            return prefix;
+        }
+
+        private Object bucketAt(int bucket) {
+            for (Object[] table : tables) {
+                if (bucket < table.length) {
+                    return table[bucket];
+                }
+                bucket -= table.length;
+            }
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.DISTINCT | sized;
+        }
+    }
+
+    private Iterator<T> bucketIterator(Object bucket) {
+        if (bucket == null) {
+            return Collections.emptyIterator();
+        }
+
+        return ((Iterable<T>) bucket).iterator();
+    }
+
+    public boolean treeBuckets() {
+        return treeBuckets;
+    }
+
+    public boolean incrementalResize() {
+        return incrementalResize;
+    }
+
+    /**
+     * @return buckets of the old table still to be migrated, 0 when not resizing
+     */
+    public int pendingMigration() {
+        return oldHashTable != null ? oldHashTable.length - migrated : 0;
+    }
+
     /**
      * O(1)
      * I know this is dump and very collision prone. I'm doing for simplicity
@@ -290,33 +699,78 @@ public class ChainHashSet<T> implements Set<T> {
         int newCapacity = GROWTH_RATIO * hashTable.length;
         Object[] newHashTable = new Object[newCapacity];
 
-        T val = first();
-        while (val != null) {
+        for (T val : this) {
             add(newHashTable, val, false);
-            val = findNext(val);
         }
 
         this.hashTable = newHashTable;
         return newHashTable;
     }
 
+    /**
+     * O(capacity) for allocating, nothing is moved yet
+     */
+    private Object[] startResize() {
+        oldHashTable = hashTable;
+        migrated = 0;
+        hashTable = new Object[GROWTH_RATIO * oldHashTable.length];
+        return hashTable;
+    }
+
+    /**
+     * O(MIGRATION_STEP * MAX_CHAIN_SIZE), a tree bucket moves whole in O(k * log(k))
+     * Moves the next {MIGRATION_STEP} buckets of the old table, empty ones included
+     */
+    private void migrate() {
+        if (oldHashTable == null) {
+            return;
+        }
+
+        int end = Math.min(migrated + MIGRATION_STEP, oldHashTable.length);
+        for (; migrated < end; migrated++) {
+            Object bucket = oldHashTable[migrated];
+            if (bucket instanceof AVLTreeSet<?>) {
+                AVLTreeSet<Comparable<Object>> tree = treeAt(migrated, oldHashTable);
+                while (tree.size() > 0) {
+                    add(hashTable, fromTree(tree.delete(tree.first())), false);
+                }
+            } else if (bucket != null) {
+                LinkedSequence<T> chain = (LinkedSequence<T>) bucket;
+                while (chain.size() > 0) {
+                    add(hashTable, chain.deleteFirst(), false);
+                }
+            }
+            oldHashTable[migrated] = null;
+        }
+
+        if (migrated == oldHashTable.length) {
+            oldHashTable = null;
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder(size * 2 + 2);
 
         builder.append("<");
         boolean appendComma = false;
-        for (int i = 0; i < hashTable.length; i++) {
-            if (findChain(i, hashTable).size() == 0) {
+        for (Object[] table : new Object[][]{hashTable, oldHashTable}) {
+            if (table == null) {
                 continue;
             }
 
-            if (appendComma) {
-                builder.append(",");
-            }
+            for (int i = 0; i < table.length; i++) {
+                if (table[i] == null) {
+                    continue;
+                }
+
+                if (appendComma) {
+                    builder.append(",");
+                }
 
-            builder.append(findChain(i, hashTable));
-            appendComma = true;
+                builder.append(table[i]);
+                appendComma = true;
+            }
         }
 
         builder.append(">");
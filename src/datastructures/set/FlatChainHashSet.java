@@ -0,0 +1,296 @@
+package datastructures.set;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Same idea as {@link ChainHashSet}, but chains are linked by index over flat arrays
+ * instead of a {@link datastructures.sequence.LinkedSequence} of nodes per bucket.
+ * <p>
+ * - buckets[b] is the index of the first entry of bucket b (-1 if empty)
+ * - values[i], hashes[i] and next[i] describe entry i, next[i] being the following entry of its chain
+ * <p>
+ * Entries are kept dense in [0, size): deleting moves the last entry into the hole.
+ * That makes iteration a plain walk over values (findNext is values[i + 1])
+ * and growth only relinks buckets from the cached hashes, no hashCode or equals.
+ * <p>
+ * A lookup reads one int from buckets and then walks hashes/next, comparing with
+ * equals only when the whole hash matches. Nothing is allocated per call.
+ *
+ * @param <T>
+ */
+public class FlatChainHashSet<T> implements Set<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int GROWTH_RATIO = 2;
+    private static final int NONE = -1;
+
+    private int[] buckets;
+    private int[] next;
+    private int[] hashes;
+    private Object[] values;
+    private int size;
+
+    /**
+     * O(capacity)
+     */
+    public FlatChainHashSet(int capacity) {
+        allocate(Hashing.tableSizeFor(capacity));
+    }
+
+    /**
+     * O(1)
+     */
+    public FlatChainHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * O(n)
+     */
+    public FlatChainHashSet(T[] values) {
+        this(values == null ? DEFAULT_CAPACITY : values.length);
+        if (values != null) {
+            for (T value : values) {
+                add(value);
+            }
+        }
+    }
+
+    /**
+     * O(1) expected, chains average less than one entry
+     */
+    @Override
+    public boolean contains(T value) {
+        return findPos(value) != NONE;
+    }
+
+    /**
+     * O(1) expected
+     */
+    @Override
+    public T find(T value) {
+        int pos = findPos(value);
+        return pos == NONE ? null : (T) values[pos];
+    }
+
+    /**
+     * O(1) expected
+     *
+     * @return index of the entry holding value, NONE if not found
+     */
+    private int findPos(T value) {
+        if (value == null) {
+            return NONE;
+        }
+
+        int hash = Hashing.hash(value.hashCode());
+        for (int i = buckets[bucket(hash)]; i != NONE; i = next[i]) {
+            if (hashes[i] == hash && Objects.equals(values[i], value)) {
+                return i;
+            }
+        }
+
+        return NONE;
+    }
+
+    /**
+     * Amortized O(1)
+     */
+    @Override
+    public void add(T value) {
+        if (value == null || findPos(value) != NONE) {
+            return;
+        }
+
+        if (size == values.length) {
+            grow();
+        }
+
+        int hash = Hashing.hash(value.hashCode());
+        int bucket = bucket(hash);
+        values[size] = value;
+        hashes[size] = hash;
+        next[size] = buckets[bucket];
+        buckets[bucket] = size;
+        size++;
+    }
+
+    /**
+     * O(1) expected
+     */
+    @Override
+    public T delete(T value) {
+        int pos = findPos(value);
+        if (pos == NONE) {
+            return null;
+        }
+
+        T refToValue = (T) values[pos];
+        unlink(pos);
+
+        // fill the hole with the last entry, keeping entries dense
+        int last = size - 1;
+        if (pos != last) {
+            unlink(last);
+            values[pos] = values[last];
+            hashes[pos] = hashes[last];
+            int bucket = bucket(hashes[pos]);
+            next[pos] = buckets[bucket];
+            buckets[bucket] = pos;
+        }
+
+        values[last] = null;
+        size--;
+        return refToValue;
+    }
+
+    /**
+     * O(1) expected
+     * Removes entry pos from its chain
+     */
+    private void unlink(int pos) {
+        int bucket = bucket(hashes[pos]);
+        if (buckets[bucket] == pos) {
+            buckets[bucket] = next[pos];
+            return;
+        }
+
+        int previous = buckets[bucket];
+        while (next[previous] != pos) {
+            previous = next[previous];
+        }
+        next[previous] = next[pos];
+    }
+
+    /**
+     * O(1)
+     */
+    @Override
+    public T first() {
+        return size == 0 ? null : (T) values[0];
+    }
+
+    /**
+     * O(1)
+     */
+    @Override
+    public T last() {
+        return size == 0 ? null : (T) values[size - 1];
+    }
+
+    /**
+     * O(1) expected
+     */
+    @Override
+    public T findPrevious(T value) {
+        int pos = findPos(value);
+        if (pos < 1) {
+            return null;
+        }
+
+        return (T) values[pos - 1];
+    }
+
+    /**
+     * O(1) expected
+     */
+    @Override
+    public T findNext(T value) {
+        int pos = findPos(value);
+        if (pos == NONE || pos == size - 1) {
+            return null;
+        }
+
+        return (T) values[pos + 1];
+    }
+
+    /**
+     * O(1)
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return buckets.length;
+    }
+
+    /**
+     * O(n), entries are dense so it's a plain walk over values
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int pos = 0;
+
+            @Override
+            public boolean hasNext() {
+                return pos < size;
+            }
+
+            @Override
+            public T next() {
+                if (pos >= size) {
+                    throw new NoSuchElementException();
+                }
+
+                return (T) values[pos++];
+            }
+        };
+    }
+
+    /**
+     * O(n)
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept((T) values[i]);
+        }
+    }
+
+    /**
+     * O(n) relinks every entry from its cached hash
+     */
+    private void grow() {
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(buckets.length * GROWTH_RATIO);
+
+        System.arraycopy(oldValues, 0, values, 0, size);
+        System.arraycopy(oldHashes, 0, hashes, 0, size);
+        for (int i = 0; i < size; i++) {
+            int bucket = bucket(hashes[i]);
+            next[i] = buckets[bucket];
+            buckets[bucket] = i;
+        }
+    }
+
+    /**
+     * One bucket per entry, so a full table still averages a single entry per chain
+     */
+    private void allocate(int capacity) {
+        buckets = new int[capacity];
+        Arrays.fill(buckets, NONE);
+        next = new int[capacity];
+        hashes = new int[capacity];
+        values = new Object[capacity];
+    }
+
+    private int bucket(int hash) {
+        return hash & (buckets.length - 1);
+    }
+
+    /**
+     * O(n)
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(Arrays.copyOf(values, size));
+    }
+}
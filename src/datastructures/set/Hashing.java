@@ -0,0 +1,46 @@
+package datastructures.set;
+
+/**
+ * Hash mixing and table sizing shared by the power of two hash sets.
+ * <p>
+ * Their tables are masked with the low bits of the hash, so sequential ids or
+ * hashCodes differing only in the high bits would all cluster together without mixing.
+ */
+final class Hashing {
+
+    // largest power of two an int table length can be
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private Hashing() {
+    }
+
+    /**
+     * Fibonacci hashing, spreads the high bits of the product down to the low ones we mask
+     */
+    static int hash(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Same as hash(int), with the 64 bit golden ratio, both halves end up in the result
+     */
+    static int hash(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * @return smallest power of two holding capacity, at least 2 and at most MAXIMUM_CAPACITY
+     */
+    static int tableSizeFor(int capacity) {
+        if (capacity < 2) {
+            return 2;
+        }
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
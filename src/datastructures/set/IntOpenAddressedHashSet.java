@@ -0,0 +1,409 @@
+package datastructures.set;
+
+import java.util.Arrays;
+
+/**
+ * {@link OpenAddressedHashSet} specialized for int keys, nothing is boxed.
+ * <p>
+ * Keys live straight in an int[]. Two key values are reserved as slot markers,
+ * EMPTY (0) and THUMB_STONE (Integer.MIN_VALUE). Since those are still valid keys,
+ * they are tracked with a flag each instead of a slot.
+ * <p>
+ * Linear probing over a power of two table. Hashes are mixed before masking,
+ * otherwise sequential ids would all cluster together. The table grows before
+ * used slots (thumbstones included) pass {MAX_LOAD_FACTOR}, so there is always
+ * an empty slot to stop the probing.
+ * <p>
+ * Methods mirror {@link Set}, but since an int can't be null, "nothing" is
+ * returned as {@link #missing()} (Integer.MIN_VALUE by default). That is a valid key too, so when
+ * the set may hold it, {@link #isEmpty()}, {@link #hasNext(int)} and {@link #hasPrevious(int)}
+ * tell "nothing" apart from the key.
+ */
+public class IntOpenAddressedHashSet {
+
+    private static final int EMPTY = 0;
+    private static final int THUMB_STONE = Integer.MIN_VALUE;
+    // flagged keys have a position too, before the slots, so walking in order is a single index
+    private static final int EMPTY_KEY_POS = -2;
+    private static final int THUMB_STONE_KEY_POS = -1;
+    private static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int GROWTH_RATIO = 2;
+    private static final float MAX_LOAD_FACTOR = 0.7f;
+
+    private final int missing;
+    private int[] hashTable;
+    private int size;
+    private int thumbStones;
+    private boolean hasEmptyKey;
+    private boolean hasThumbStoneKey;
+
+    /**
+     * O(capacity)
+     *
+     * @param missing value returned when there is nothing to return
+     */
+    public IntOpenAddressedHashSet(int capacity, int missing) {
+        hashTable = new int[Hashing.tableSizeFor(capacity)];
+        this.missing = missing;
+    }
+
+    /**
+     * O(capacity)
+     */
+    public IntOpenAddressedHashSet(int capacity) {
+        this(capacity, Integer.MIN_VALUE);
+    }
+
+    /**
+     * O(1)
+     */
+    public IntOpenAddressedHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * O(n)
+     */
+    public IntOpenAddressedHashSet(int[] values) {
+        this(values == null ? DEFAULT_CAPACITY : (int) (values.length / MAX_LOAD_FACTOR) + 1);
+        if (values != null) {
+            for (int value : values) {
+                add(value);
+            }
+        }
+    }
+
+    /**
+     * O(1), expected probe length is constant while under {MAX_LOAD_FACTOR}
+     */
+    public boolean contains(int value) {
+        if (value == EMPTY) {
+            return hasEmptyKey;
+        }
+
+        if (value == THUMB_STONE) {
+            return hasThumbStoneKey;
+        }
+
+        return findPos(value) != -1;
+    }
+
+    /**
+     * O(1)
+     *
+     * @return slot of value, -1 if not found
+     */
+    private int findPos(int value) {
+        int mask = hashTable.length - 1;
+        int pos = Hashing.hash(value) & mask;
+        while (true) {
+            int current = hashTable[pos];
+            if (current == value) {
+                return pos;
+            }
+
+            // thumbstones don't stop the probing, only empty slots do
+            if (current == EMPTY) {
+                return -1;
+            }
+
+            pos = (pos + 1) & mask;
+        }
+    }
+
+    /**
+     * Amortized O(1)
+     */
+    public void add(int value) {
+        if (value == EMPTY) {
+            hasEmptyKey = true;
+            return;
+        }
+
+        if (value == THUMB_STONE) {
+            hasThumbStoneKey = true;
+            return;
+        }
+
+        if (size + thumbStones + 1 > maxFill(hashTable.length)) {
+            // if it's mostly thumbstones, rebuilding in place is enough
+            int newCapacity = size + 1 > maxFill(hashTable.length) / GROWTH_RATIO ?
+                    hashTable.length * GROWTH_RATIO : hashTable.length;
+            rehash(newCapacity);
+        }
+
+        int mask = hashTable.length - 1;
+        int pos = Hashing.hash(value) & mask;
+        int firstThumbStone = -1;
+        while (true) {
+            int current = hashTable[pos];
+            if (current == value) {
+                return;
+            }
+
+            if (current == EMPTY) {
+                break;
+            }
+
+            if (current == THUMB_STONE && firstThumbStone == -1) {
+                firstThumbStone = pos;
+            }
+
+            pos = (pos + 1) & mask;
+        }
+
+        // reuse the first thumbstone seen, it's closer to the ideal slot
+        if (firstThumbStone != -1) {
+            pos = firstThumbStone;
+            thumbStones--;
+        }
+
+        hashTable[pos] = value;
+        size++;
+    }
+
+    /**
+     * O(1)
+     *
+     * @return true if value was in the set
+     */
+    public boolean delete(int value) {
+        if (value == EMPTY) {
+            boolean had = hasEmptyKey;
+            hasEmptyKey = false;
+            return had;
+        }
+
+        if (value == THUMB_STONE) {
+            boolean had = hasThumbStoneKey;
+            hasThumbStoneKey = false;
+            return had;
+        }
+
+        int pos = findPos(value);
+        if (pos == -1) {
+            return false;
+        }
+
+        hashTable[pos] = THUMB_STONE;
+        size--;
+        thumbStones++;
+        return true;
+    }
+
+    /**
+     * O(capacity)
+     * The flagged keys come before any slot. {@link #missing()} when empty, see {@link #isEmpty()}
+     */
+    public int first() {
+        return keyAt(nextPosition(EMPTY_KEY_POS));
+    }
+
+    /**
+     * O(capacity)
+     * {@link #missing()} when empty, see {@link #isEmpty()}
+     */
+    public int last() {
+        return keyAt(previousPosition(hashTable.length - 1));
+    }
+
+    /**
+     * O(capacity)
+     * {@link #missing()} when value is not in the set or it's the last one, see {@link #hasNext(int)}
+     */
+    public int findNext(int value) {
+        int pos = positionOf(value);
+        return pos == NOT_FOUND ? missing : keyAt(nextPosition(pos + 1));
+    }
+
+    /**
+     * O(capacity)
+     * {@link #missing()} when value is not in the set or it's the first one, see {@link #hasPrevious(int)}
+     */
+    public int findPrevious(int value) {
+        int pos = positionOf(value);
+        return pos == NOT_FOUND ? missing : keyAt(previousPosition(pos - 1));
+    }
+
+    /**
+     * O(1) - Tells an empty set apart from first()/last() being a key equal to {@link #missing()}
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * O(capacity)
+     *
+     * @return true if value is in the set and findNext(value) is a key, even one equal to {@link #missing()}
+     */
+    public boolean hasNext(int value) {
+        int pos = positionOf(value);
+        return pos != NOT_FOUND && nextPosition(pos + 1) != NOT_FOUND;
+    }
+
+    /**
+     * O(capacity)
+     *
+     * @return true if value is in the set and findPrevious(value) is a key, even one equal to {@link #missing()}
+     */
+    public boolean hasPrevious(int value) {
+        int pos = positionOf(value);
+        return pos != NOT_FOUND && previousPosition(pos - 1) != NOT_FOUND;
+    }
+
+    /**
+     * O(1)
+     */
+    public int size() {
+        return size + (hasEmptyKey ? 1 : 0) + (hasThumbStoneKey ? 1 : 0);
+    }
+
+    public int capacity() {
+        return hashTable.length;
+    }
+
+    public int missing() {
+        return missing;
+    }
+
+    /**
+     * O(1)
+     *
+     * @return position of value (the flagged keys go before slot 0), NOT_FOUND if it's not in the set
+     */
+    private int positionOf(int value) {
+        if (value == EMPTY) {
+            return hasEmptyKey ? EMPTY_KEY_POS : NOT_FOUND;
+        }
+
+        if (value == THUMB_STONE) {
+            return hasThumbStoneKey ? THUMB_STONE_KEY_POS : NOT_FOUND;
+        }
+
+        int pos = findPos(value);
+        return pos == -1 ? NOT_FOUND : pos;
+    }
+
+    /**
+     * O(capacity)
+     *
+     * @return first position from `from` on holding a key, NOT_FOUND past the last slot
+     */
+    private int nextPosition(int from) {
+        if (from <= EMPTY_KEY_POS && hasEmptyKey) {
+            return EMPTY_KEY_POS;
+        }
+
+        if (from <= THUMB_STONE_KEY_POS && hasThumbStoneKey) {
+            return THUMB_STONE_KEY_POS;
+        }
+
+        for (int i = Math.max(from, 0); i < hashTable.length; i++) {
+            if (isKey(hashTable[i])) {
+                return i;
+            }
+        }
+
+        return NOT_FOUND;
+    }
+
+    /**
+     * O(capacity)
+     * Once out of slots, the last of the flagged keys (they come before any slot)
+     *
+     * @return last position from `from` down holding a key, NOT_FOUND before the first one
+     */
+    private int previousPosition(int from) {
+        for (int i = from; i >= 0; i--) {
+            if (isKey(hashTable[i])) {
+                return i;
+            }
+        }
+
+        if (from >= THUMB_STONE_KEY_POS && hasThumbStoneKey) {
+            return THUMB_STONE_KEY_POS;
+        }
+
+        if (from >= EMPTY_KEY_POS && hasEmptyKey) {
+            return EMPTY_KEY_POS;
+        }
+
+        return NOT_FOUND;
+    }
+
+    /**
+     * O(1)
+     */
+    private int keyAt(int pos) {
+        if (pos == NOT_FOUND) {
+            return missing;
+        }
+
+        if (pos == EMPTY_KEY_POS) {
+            return EMPTY;
+        }
+
+        if (pos == THUMB_STONE_KEY_POS) {
+            return THUMB_STONE;
+        }
+
+        return hashTable[pos];
+    }
+
+    /**
+     * O(capacity)
+     * Single pass over the old table, thumbstones are dropped
+     */
+    private void rehash(int newCapacity) {
+        int[] oldHashTable = hashTable;
+        hashTable = new int[newCapacity];
+        int mask = newCapacity - 1;
+
+        for (int value : oldHashTable) {
+            if (!isKey(value)) {
+                continue;
+            }
+
+            // no need to compare, every key is distinct
+            int pos = Hashing.hash(value) & mask;
+            while (hashTable[pos] != EMPTY) {
+                pos = (pos + 1) & mask;
+            }
+            hashTable[pos] = value;
+        }
+
+        thumbStones = 0;
+    }
+
+    private static boolean isKey(int value) {
+        return value != EMPTY && value != THUMB_STONE;
+    }
+
+    private static int maxFill(int capacity) {
+        return Math.min((int) (capacity * MAX_LOAD_FACTOR), capacity - 1);
+    }
+
+    /**
+     * O(capacity)
+     */
+    @Override
+    public String toString() {
+        int[] keys = new int[size()];
+        int i = 0;
+        if (hasEmptyKey) {
+            keys[i++] = EMPTY;
+        }
+        if (hasThumbStoneKey) {
+            keys[i++] = THUMB_STONE;
+        }
+        for (int value : hashTable) {
+            if (isKey(value)) {
+                keys[i++] = value;
+            }
+        }
+        return Arrays.toString(keys);
+    }
+}
@@ -1,7 +1,10 @@
 package datastructures.set;
 
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * For Simplicity, let's use quadratic probing.
@@ -11,25 +14,88 @@ import java.util.Objects;
  * - Double Hashing (best data distribution)
  *
  * CLUSTERING IS HITTING HARD, is it a me problem or just a probing concept problem?
+ * <p>
+ * Answer: a bit of both. Doubling the factor isn't quadratic probing, `hash % length`
+ * keeps the patterns of the hash and thumbstones are never reclaimed.
+ * So there is a second engine, {@link Probing#ROBIN_HOOD}:
+ * - power of two table and a mixed hash, so the low bits we mask are well spread
+ * - linear probing, but whoever is further from its ideal slot keeps the slot ("steal from the rich").
+ *   Probe lengths stay short and even at high load factors
+ * - lookups stop as soon as they are further than the entry they are looking at
+ * - deletion shifts the following entries one slot back, no thumbstones at all
+ * <p>
+ * Both engines grow once used slots (thumbstones included) pass the max load factor,
+ * instead of waiting for the probing to fail. Growth is a single pass over the old table.
+ * When thumbstones outnumber the values, the table is rebuilt at the same capacity instead.
  * @param <T>
  */
 public class OpenAddressedHashSet<T> implements Set<T> {
 
+    public enum Probing {
+        QUADRATIC,
+        ROBIN_HOOD
+    }
+
     private static final Object THUMB_STONE = new Object();
 
     private static final int DEFAULT_CAPACITY = 64;
     private static final int GROWTH_RATIO = 2;
+    private static final float DEFAULT_MAX_LOAD_FACTOR = 0.75f;
+    private static final float ROBIN_HOOD_MAX_LOAD_FACTOR = 0.875f;
+    private static final int ALREADY_THERE = -1;
+    private static final int NO_FREE_SLOT = -2;
+    private final Probing probing;
+    private final float maxLoadFactor;
     private int size;
+    private int thumbStones;
     private Object[] hashTable;
 
+    // metrics
+    private int resizes;
+    private int compactions;
+    private long lastRehashNanos;
+
+    /**
+     * Mixed hash of each slot, only kept by {@link Probing#ROBIN_HOOD}.
+     * Saves calling hashCode again to know how far from home an entry is.
+     */
+    private int[] hashes;
+
     /**
      * O(1)
+     *
+     * @param maxLoadFactor (values + thumbstones) / capacity that triggers growth, in (0, 1]
      */
-    public OpenAddressedHashSet(int capacity) {
-        hashTable = new Object[capacity];
+    public OpenAddressedHashSet(int capacity, Probing probing, float maxLoadFactor) {
+        if (!(maxLoadFactor > 0 && maxLoadFactor <= 1)) {
+            throw new IllegalArgumentException("Max load factor must be in (0, 1], got " + maxLoadFactor);
+        }
+
+        this.probing = probing;
+        this.maxLoadFactor = maxLoadFactor;
+        if (probing == Probing.ROBIN_HOOD) {
+            hashTable = new Object[Hashing.tableSizeFor(capacity)];
+            hashes = new int[hashTable.length];
+        } else {
+            hashTable = new Object[capacity];
+        }
         size = 0;
     }
 
+    /**
+     * O(1)
+     */
+    public OpenAddressedHashSet(int capacity, Probing probing) {
+        this(capacity, probing, probing == Probing.ROBIN_HOOD ? ROBIN_HOOD_MAX_LOAD_FACTOR : DEFAULT_MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * O(1)
+     */
+    public OpenAddressedHashSet(int capacity) {
+        this(capacity, Probing.QUADRATIC);
+    }
+
     /**
      * O(1)
      */
@@ -37,15 +103,25 @@ public class OpenAddressedHashSet<T> implements Set<T> {
         this(DEFAULT_CAPACITY);
     }
 
+    /**
+     * O(1)
+     */
+    public static <T> OpenAddressedHashSet<T> robinHood() {
+        return new OpenAddressedHashSet<>(DEFAULT_CAPACITY, Probing.ROBIN_HOOD);
+    }
+
     /**
      * O(n)
      */
     public OpenAddressedHashSet(T[] values) {
-        if (values == null || values.length == 0) {
-            hashTable = new Object[DEFAULT_CAPACITY];
-        } else {
-            hashTable = new Object[values.length];
-        }
+        this(values, Probing.QUADRATIC);
+    }
+
+    /**
+     * O(n)
+     */
+    public OpenAddressedHashSet(T[] values, Probing probing) {
+        this(values == null || values.length == 0 ? DEFAULT_CAPACITY : initialCapacity(values.length, probing), probing);
 
         if (values != null) {
             for (T value : values) {
@@ -74,6 +150,10 @@ public class OpenAddressedHashSet<T> implements Set<T> {
      * O(log(n)) if probing needed
      */
     public int findPos(T value) {
+        if (probing == Probing.ROBIN_HOOD) {
+            return robinHoodFindPos(value);
+        }
+
         int pos = findHashPosition(value, hashTable);
 
         // If it's null it's because it was never seen
@@ -128,6 +208,15 @@ public class OpenAddressedHashSet<T> implements Set<T> {
      */
     @Override
     public void add(T value) {
+        if (probing == Probing.ROBIN_HOOD) {
+            robinHoodAdd(value);
+            return;
+        }
+
+        if (size + thumbStones + 1 > maxFill()) {
+            makeRoom();
+        }
+
         if (add(value, hashTable, true)) {
             size++;
         }
@@ -137,31 +226,72 @@ public class OpenAddressedHashSet<T> implements Set<T> {
      * Amortized O(log(n)) when hits probing (amortized on growth that is O(n)
      */
     public boolean add(T value, Object[] hashTable, boolean allowGrowth) {
-        int pos = findHashPosition(value, hashTable);
+        int pos = findFreePos(value, hashTable);
+        if (pos == ALREADY_THERE) {
+            return false;
+        }
 
-        // Is empty
-        if (emptyPos(pos, hashTable)) {
+        if (pos != NO_FREE_SLOT) {
+            if (hashTable == this.hashTable && hashTable[pos] == THUMB_STONE) {
+                thumbStones--;
+            }
             hashTable[pos] = value;
             return true;
         }
 
-        // it's the same
-        if (Objects.equals(hashTable[pos], value)) {
-            return false;
+        // If we arrived here, it's because we could not find a position.
+        if (!allowGrowth) {
+            throw new IllegalStateException("Bad implementation where growth needed to happen twice. " +
+                    "This will only occur if after growth we have high collision factor still, not " +
+                    "spreading the values as it should. If this happen, FIND A BETTER HASH ALGORITHM");
+        }
+
+        hashTable = rehash(GROWTH_RATIO * this.hashTable.length);
+        // One level only recursion. Should not be too bad for stack
+        // and makes concept+code so much simpler
+        return add(value, hashTable, false);
+    }
+
+    /**
+     * O(log(n)) if probing needed
+     * Walks the same probe path as findPos until an empty slot, so a value further along the path is
+     * never added twice. The first thumbstone on the way is reused, it's closer to the hashed position.
+     *
+     * @return free slot (empty or thumbstone) for value, ALREADY_THERE if value is on its probe path
+     * or NO_FREE_SLOT if the probing could not find one
+     */
+    private int findFreePos(T value, Object[] hashTable) {
+        int pos = findHashPosition(value, hashTable);
+        int firstThumbStone = NO_FREE_SLOT;
+
+        // never used, value can't be further ahead
+        if (hashTable[pos] == null) {
+            return pos;
+        }
+
+        if (hashTable[pos] == THUMB_STONE) {
+            firstThumbStone = pos;
+        } else if (Objects.equals(hashTable[pos], value)) {
+            return ALREADY_THERE;
         }
 
         // it's a collision, we need to find a new position
         // We are solving by quadratic probing
         int probFactor = 1;
-        boolean probing = true;
         boolean backAtBeginning = false;
-        while(probing) {
+        while (true) {
             int probPos = findHashPosition(pos + probFactor, hashTable);
 
-            // If the position is empty, set it there!
-            if (emptyPos(probPos, hashTable)) {
-                hashTable[probPos] = value;
-                return true;
+            if (hashTable[probPos] == null) {
+                return firstThumbStone != NO_FREE_SLOT ? firstThumbStone : probPos;
+            }
+
+            if (hashTable[probPos] == THUMB_STONE) {
+                if (firstThumbStone == NO_FREE_SLOT) {
+                    firstThumbStone = probPos;
+                }
+            } else if (Objects.equals(hashTable[probPos], value)) {
+                return ALREADY_THERE;
             }
 
             // Square factor
@@ -171,45 +301,44 @@ public class OpenAddressedHashSet<T> implements Set<T> {
             // If the new prob pos is larger than hash table
             // we are starting from the beginning of the array
             // we need to know it to prevent infinite loops
-            if (!backAtBeginning == potentialNewProbPos >= hashTable.length) {
+            if (!backAtBeginning && potentialNewProbPos >= hashTable.length) {
                 backAtBeginning = true;
 
             // if we are back at the begging and the new prob pos is larger than
-            // the initial hashed pos, we need to grow.
+            // the initial hashed pos, the whole path was seen, we need to grow unless a thumbstone was on it.
             } else if (backAtBeginning && probPos >= pos) {
-                probing = false;
+                return firstThumbStone;
             }
             probFactor = newProbFactor;
         }
-
-        // If we arrived here, it's because we could not find a position.
-        if (!allowGrowth) {
-            throw new IllegalStateException("Bad implementation where growth needed to happen twice. " +
-                    "This will only occur if after growth we have high collision factor still, not " +
-                    "spreading the values as it should. If this happen, FIND A BETTER HASH ALGORITHM");
-        }
-
-        hashTable = grow();
-        // One level only recursion. Should not be too bad for stack
-        // and makes concept+code so much simpler
-        return add(value, hashTable, false);
     }
 
     /**
      * O(log(n)) if probing needed
      *
-     * @return
+     * @return the value that was in the set, null if there was none (both probings, same as the other sets)
      */
     @Override
     public T delete(T value) {
+        if (probing == Probing.ROBIN_HOOD) {
+            return robinHoodDelete(value);
+        }
+
         int pos = findPos(value);
         if (pos == -1) {
-            return value;
+            return null;
         }
 
         T refToValue = (T) hashTable[pos];
         hashTable[pos] = THUMB_STONE;
         size--;
+        thumbStones++;
+
+        // wait for a reasonably used table, otherwise we'd compact small tables all the time
+        if (thumbStones > size && size + thumbStones > maxFill() / GROWTH_RATIO) {
+            rehash(hashTable.length);
+        }
+
         return refToValue;
     }
 
@@ -299,6 +428,248 @@ public class OpenAddressedHashSet<T> implements Set<T> {
         return hashTable.length;
     }
 
+    /**
+     * O(capacity), a single pass over the slots
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int pos = nextPos(0);
+
+            @Override
+            public boolean hasNext() {
+                return pos < hashTable.length;
+            }
+
+            @Override
+            public T next() {
+                if (pos >= hashTable.length) {
+                    throw new NoSuchElementException();
+                }
+
+                T value = (T) hashTable[pos];
+                pos = nextPos(pos + 1);
+                return value;
+            }
+        };
+    }
+
+    /**
+     * O(capacity)
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (int i = 0; i < hashTable.length; i++) {
+            if (!emptyPos(i, hashTable)) {
+                action.accept((T) hashTable[i]);
+            }
+        }
+    }
+
+    /**
+     * @return first taken slot from `from`, hashTable.length if none
+     */
+    private int nextPos(int from) {
+        int pos = from;
+        while (pos < hashTable.length && emptyPos(pos, hashTable)) {
+            pos++;
+        }
+        return pos;
+    }
+
+    public Probing probing() {
+        return probing;
+    }
+
+    public float maxLoadFactor() {
+        return maxLoadFactor;
+    }
+
+    /**
+     * O(1)
+     * Always 0 for {@link Probing#ROBIN_HOOD}
+     */
+    public int thumbStones() {
+        return thumbStones;
+    }
+
+    /**
+     * O(1)
+     *
+     * @return (values + thumbstones) / capacity
+     */
+    public float loadFactor() {
+        return (float) (size + thumbStones) / hashTable.length;
+    }
+
+    /**
+     * O(1)
+     *
+     * @return times the table grew
+     */
+    public int resizes() {
+        return resizes;
+    }
+
+    /**
+     * O(1)
+     *
+     * @return times the table was rebuilt at the same capacity to get rid of thumbstones
+     */
+    public int compactions() {
+        return compactions;
+    }
+
+    /**
+     * O(1)
+     *
+     * @return how long the latest growth or compaction took, the stall seen by the operation that triggered it
+     */
+    public long lastRehashNanos() {
+        return lastRehashNanos;
+    }
+
+    /**
+     * O(1) expected, probe length is bounded by the longest displacement in the table
+     *
+     * @return slot of value, -1 if not found
+     */
+    private int robinHoodFindPos(T value) {
+        if (value == null) {
+            return -1;
+        }
+
+        int hash = Hashing.hash(value.hashCode());
+        int mask = hashTable.length - 1;
+        int pos = hash & mask;
+        int distance = 0;
+        while (hashTable[pos] != null) {
+            // had value been here, it would have stolen this slot on insertion
+            if (distance > displacement(pos)) {
+                return -1;
+            }
+
+            if (hashes[pos] == hash && Objects.equals(hashTable[pos], value)) {
+                return pos;
+            }
+
+            pos = (pos + 1) & mask;
+            distance++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Amortized O(1)
+     */
+    private void robinHoodAdd(T value) {
+        if (value == null || robinHoodFindPos(value) != -1) {
+            return;
+        }
+
+        if (size + 1 > maxFill()) {
+            robinHoodRehash(hashTable.length * GROWTH_RATIO);
+        }
+
+        robinHoodInsert(value, Hashing.hash(value.hashCode()));
+        size++;
+    }
+
+    /**
+     * O(1) expected
+     * Walks from the ideal slot, swapping the carried entry with any entry
+     * that is closer to home than the carried one, until an empty slot is found.
+     * Assumes value is not in the table yet.
+     */
+    private void robinHoodInsert(Object value, int hash) {
+        int mask = hashTable.length - 1;
+        int pos = hash & mask;
+        int distance = 0;
+        while (hashTable[pos] != null) {
+            int existingDistance = displacement(pos);
+            if (existingDistance < distance) {
+                Object tmpValue = hashTable[pos];
+                int tmpHash = hashes[pos];
+                hashTable[pos] = value;
+                hashes[pos] = hash;
+                value = tmpValue;
+                hash = tmpHash;
+                distance = existingDistance;
+            }
+
+            pos = (pos + 1) & mask;
+            distance++;
+        }
+
+        hashTable[pos] = value;
+        hashes[pos] = hash;
+    }
+
+    /**
+     * O(1) expected
+     * Backward shift deletion: the entries after the removed one move one
+     * slot closer to home, until an empty slot or an entry already at home.
+     */
+    private T robinHoodDelete(T value) {
+        int pos = robinHoodFindPos(value);
+        if (pos == -1) {
+            return null;
+        }
+
+        T refToValue = (T) hashTable[pos];
+        int mask = hashTable.length - 1;
+        int next = (pos + 1) & mask;
+        while (hashTable[next] != null && displacement(next) > 0) {
+            hashTable[pos] = hashTable[next];
+            hashes[pos] = hashes[next];
+            pos = next;
+            next = (next + 1) & mask;
+        }
+
+        hashTable[pos] = null;
+        size--;
+        return refToValue;
+    }
+
+    /**
+     * O(n) single pass over the old table, no lookups needed
+     */
+    private void robinHoodRehash(int newCapacity) {
+        long start = System.nanoTime();
+        Object[] oldHashTable = hashTable;
+        int[] oldHashes = hashes;
+        hashTable = new Object[newCapacity];
+        hashes = new int[newCapacity];
+
+        for (int i = 0; i < oldHashTable.length; i++) {
+            if (oldHashTable[i] != null) {
+                robinHoodInsert(oldHashTable[i], oldHashes[i]);
+            }
+        }
+
+        resizes++;
+        lastRehashNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * O(1)
+     *
+     * @return how many slots the entry at pos is away from its ideal slot
+     */
+    private int displacement(int pos) {
+        int mask = hashTable.length - 1;
+        return (pos - (hashes[pos] & mask)) & mask;
+    }
+
+    private static int initialCapacity(int values, Probing probing) {
+        if (probing == Probing.ROBIN_HOOD) {
+            return (int) (values / ROBIN_HOOD_MAX_LOAD_FACTOR) + 1;
+        }
+
+        return values;
+    }
+
     /**
      * O(1)
      * I know this is dump and very collision prone. I'm doing for simplicity
@@ -311,20 +682,63 @@ public class OpenAddressedHashSet<T> implements Set<T> {
         return Math.abs(hash % hashTable.length);
     }
 
+    /**
+     * O(1)
+     *
+     * @return max used slots (values + thumbstones), always leaves one empty slot to stop the probing
+     */
+    private int maxFill() {
+        return Math.min((int) (hashTable.length * maxLoadFactor), hashTable.length - 1);
+    }
+
     /**
      * O(n)
+     * If thumbstones dominate, rebuilding at the same capacity is enough
+     */
+    private void makeRoom() {
+        if (thumbStones > size) {
+            rehash(hashTable.length);
+        } else {
+            rehash(GROWTH_RATIO * hashTable.length);
+        }
+    }
+
+    /**
+     * O(n) single pass over the old table, thumbstones are dropped.
+     * No findNext, which would search every value again.
+     * If the probing can't place a value, the new table is too crowded, retry with a larger one.
      */
-    private Object[] grow() {
-        int newCapacity = GROWTH_RATIO * hashTable.length;
+    private Object[] rehash(int newCapacity) {
+        long start = System.nanoTime();
         Object[] newHashTable = new Object[newCapacity];
 
-        T val = first();
-        while (val != null) {
-            add(val, newHashTable, false);
-            val = findNext(val);
+        int i = 0;
+        while (i < hashTable.length) {
+            Object value = hashTable[i];
+            if (value != null && value != THUMB_STONE) {
+                int pos = findFreePos((T) value, newHashTable);
+                if (pos == NO_FREE_SLOT) {
+                    newHashTable = new Object[GROWTH_RATIO * newHashTable.length];
+                    i = 0;
+                    continue;
+                }
+                // the old table never holds a value twice, but don't index with a marker
+                if (pos != ALREADY_THERE) {
+                    newHashTable[pos] = value;
+                }
+            }
+            i++;
+        }
+
+        if (newHashTable.length > hashTable.length) {
+            resizes++;
+        } else {
+            compactions++;
         }
 
         this.hashTable = newHashTable;
+        thumbStones = 0;
+        lastRehashNanos = System.nanoTime() - start;
         return newHashTable;
     }
 
@@ -0,0 +1,205 @@
+package datastructures.set;
+
+import datastructures.tree.PooledAVLTree;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import static datastructures.tree.PooledAVLTree.NIL;
+
+/**
+ * Same as {@link AVLTreeSet}, on a {@link PooledAVLTree}: nodes are indexes in a few arrays instead of
+ * an object each, so there's less memory per value and the search walks over int arrays
+ */
+public class PooledAVLTreeSet<T extends Comparable<T>> implements Set<T> {
+
+    final PooledAVLTree<T> tree;
+
+    /**
+     * O(1)
+     */
+    public PooledAVLTreeSet() {
+        this.tree = new PooledAVLTree<>();
+    }
+
+    /**
+     * O(initialCapacity)
+     */
+    public PooledAVLTreeSet(int initialCapacity) {
+        this.tree = new PooledAVLTree<>(initialCapacity);
+    }
+
+    /**
+     * O(n*log(n))
+     */
+    public PooledAVLTreeSet(T[] values) {
+        this(values == null ? 0 : values.length);
+        if (values == null) {
+            return;
+        }
+
+        for (T value : values) {
+            add(value);
+        }
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public boolean contains(T value) {
+        return findNode(value) != NIL;
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T find(T value) {
+        int node = findNode(value);
+        return node == NIL ? null : tree.value(node);
+    }
+
+    /**
+     * O(log(n)) - Like {@link AVLTreeSet}, a value already there is kept
+     */
+    @Override
+    public void add(T value) {
+        if (value == null) {
+            return;
+        }
+
+        if (tree.size() == 0) {
+            tree.insertFirst(value);
+            return;
+        }
+
+        int node = tree.root();
+        while (true) {
+            int comparison = value.compareTo(tree.value(node));
+            if (comparison == 0) {
+                return;
+            }
+
+            if (comparison < 0) {
+                if (tree.left(node) == NIL) {
+                    tree.insertBefore(node, value);
+                    return;
+                }
+                node = tree.left(node);
+            } else {
+                if (tree.right(node) == NIL) {
+                    tree.insertAfter(node, value);
+                    return;
+                }
+                node = tree.right(node);
+            }
+        }
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T delete(T value) {
+        int node = findNode(value);
+        return node == NIL ? null : tree.delete(node);
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T first() {
+        return tree.value(tree.first());
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T last() {
+        return tree.value(tree.last());
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T findPrevious(T value) {
+        int node = findNode(value);
+        return node == NIL ? null : tree.value(tree.previous(node));
+    }
+
+    /**
+     * O(log(n))
+     */
+    @Override
+    public T findNext(T value) {
+        int node = findNode(value);
+        return node == NIL ? null : tree.value(tree.next(node));
+    }
+
+    /**
+     * O(1)
+     */
+    @Override
+    public int size() {
+        return tree.size();
+    }
+
+    /**
+     * O(n) in order walk, amortized O(1) per step
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int node = tree.first();
+
+            @Override
+            public boolean hasNext() {
+                return node != NIL;
+            }
+
+            @Override
+            public T next() {
+                if (node == NIL) {
+                    throw new NoSuchElementException();
+                }
+
+                T value = tree.value(node);
+                node = tree.next(node);
+                return value;
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(),
+                Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.ORDERED | Spliterator.SORTED);
+    }
+
+    /**
+     * O(log(n))
+     */
+    private int findNode(T value) {
+        if (value == null) {
+            return NIL;
+        }
+
+        int node = tree.root();
+        while (node != NIL) {
+            int comparison = value.compareTo(tree.value(node));
+            if (comparison == 0) {
+                return node;
+            }
+
+            // bigger to the right, smaller to the left
+            node = comparison > 0 ? tree.right(node) : tree.left(node);
+        }
+        return NIL;
+    }
+}
@@ -1,6 +1,12 @@
 package datastructures.set;
 
-public interface Set<T> {
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public interface Set<T> extends Iterable<T> {
 
     boolean contains(T value);
 
@@ -24,4 +30,31 @@ public interface Set<T> {
     T findNext(T value);
 
     int size();
+
+    /**
+     * O(n) for the whole walk, same order as first() and findNext(), but every step
+     * continues from where the previous one stopped instead of searching the value again.
+     * The set must not be modified while iterating.
+     */
+    @Override
+    Iterator<T> iterator();
+
+    /**
+     * Sized, so streams and copies know how much is coming
+     */
+    @Override
+    default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Only as parallel as the spliterator splits, the default one hands out batches of the iterator
+     */
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
 }
@@ -2,13 +2,31 @@ package datastructures.set;
 
 import datastructures.BinarySearch;
 import datastructures.BinarySearch.IndexToInsertInOrder;
-import datastructures.MergeSort;
+import datastructures.TimSort;
 import datastructures.sequence.Sequence;
 import datastructures.sequence.DoubleEdgedLinearSequence;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
 public class SortedSequenceSet<T extends Comparable<T>> implements Set<T> {
 
-    private final Sequence<T> sequence;
+    // below this many values in both sides a merge stays on the calling thread
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int PARALLEL_CHUNK = 1 << 15;
+
+    private enum Operation {
+        UNION,
+        INTERSECTION,
+        DIFFERENCE
+    }
+
+    private DoubleEdgedLinearSequence<T> sequence;
 
     /**
      * O(1)
@@ -25,11 +43,21 @@ public class SortedSequenceSet<T extends Comparable<T>> implements Set<T> {
     }
 
     /**
-     * O(n*log(n))
+     * O(n*log(n)), O(n) when values are already sorted. Duplicates are dropped: of equal values only the
+     * last one is kept, same as adding them one by one. Null or empty values make an empty set
      */
     public SortedSequenceSet(T[] values) {
-        sequence = new DoubleEdgedLinearSequence<>(values);
-        MergeSort.sort(sequence);
+        if (values == null) {
+            sequence = new DoubleEdgedLinearSequence<>();
+            return;
+        }
+
+        T[] sorted = sortedDistinct(values);
+        sequence = new DoubleEdgedLinearSequence<>(sorted, sorted.length);
+    }
+
+    private SortedSequenceSet(DoubleEdgedLinearSequence<T> sequence) {
+        this.sequence = sequence;
     }
 
     /**
@@ -123,6 +151,70 @@ public class SortedSequenceSet<T extends Comparable<T>> implements Set<T> {
         return sequence.at(pos);
     }
 
+    /**
+     * O(n + m) when values are sorted, O(n + m*log(m)) otherwise - A single linear merge with the set,
+     * instead of m inserts that move O(n) values each. Equal values replace the ones in the set, same as add
+     */
+    public void addAll(T[] values) {
+        if (values == null) {
+            return;
+        }
+
+        sequence = merge(sortedDistinct(values), Operation.UNION);
+    }
+
+    /**
+     * O(n + m) when other iterates in order (sorted sets), O(n + m*log(m)) otherwise
+     */
+    public void addAll(Set<T> other) {
+        sequence = merge(sortedValues(other), Operation.UNION);
+    }
+
+    /**
+     * O(n + m) when other iterates in order (sorted sets), O(n + m*log(m)) otherwise
+     *
+     * @return a new set with the values of both, equal values take the one from other
+     */
+    public SortedSequenceSet<T> union(Set<T> other) {
+        return new SortedSequenceSet<>(merge(sortedValues(other), Operation.UNION));
+    }
+
+    /**
+     * O(n + m) when other iterates in order (sorted sets), O(n + m*log(m)) otherwise
+     *
+     * @return a new set with the values of this set that are in other as well
+     */
+    public SortedSequenceSet<T> intersection(Set<T> other) {
+        return new SortedSequenceSet<>(merge(sortedValues(other), Operation.INTERSECTION));
+    }
+
+    /**
+     * O(n + m) when other iterates in order (sorted sets), O(n + m*log(m)) otherwise
+     *
+     * @return a new set with the values of this set that are not in other
+     */
+    public SortedSequenceSet<T> difference(Set<T> other) {
+        return new SortedSequenceSet<>(merge(sortedValues(other), Operation.DIFFERENCE));
+    }
+
+    /**
+     * O(m*log(n/m)) when values are sorted, O(m*log(n)) otherwise - Looks up a batch of values at once,
+     * see {@link BinarySearch#lowerBounds(Sequence, Comparable[])}. Sorting a large batch first pays off,
+     * it becomes a single merged pass over the set.
+     *
+     * @return for each value its position in the set, -1 if it's not there
+     */
+    public int[] indexesOf(T[] values) {
+        return BinarySearch.search(sequence, values);
+    }
+
+    /**
+     * O(1)
+     */
+    public T at(int index) {
+        return sequence.at(index);
+    }
+
     /**
      * O(1)
      */
@@ -131,6 +223,203 @@ public class SortedSequenceSet<T extends Comparable<T>> implements Set<T> {
         return sequence.size();
     }
 
+    /**
+     * O(n), at(i) is O(1) on the underlying array
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int pos = 0;
+
+            @Override
+            public boolean hasNext() {
+                return pos < sequence.size();
+            }
+
+            @Override
+            public T next() {
+                if (pos >= sequence.size()) {
+                    throw new NoSuchElementException();
+                }
+
+                return sequence.at(pos++);
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(),
+                Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.ORDERED | Spliterator.SORTED);
+    }
+
+    /**
+     * O(n + m) - Merges this set with other (sorted and distinct). Large inputs are cut in chunks that merge
+     * in parallel: this set in equal parts, other at the lower bound of the first value of each part,
+     * so equal values always land in the same chunk. Chunks write where they would start if nothing
+     * was dropped, then they're packed together.
+     */
+    private DoubleEdgedLinearSequence<T> merge(T[] other, Operation operation) {
+        T[] values = toArray(sequence);
+        T[] out = newArray(operation == Operation.UNION ? values.length + other.length : values.length);
+
+        int count;
+        if (values.length == 0 || other.length == 0 || values.length + other.length < PARALLEL_THRESHOLD) {
+            count = merge(values, 0, values.length, other, 0, other.length, operation, out, 0);
+        } else {
+            int chunks = Math.max(2, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4,
+                    (values.length + other.length) / PARALLEL_CHUNK));
+            int[] starts = new int[chunks + 1];
+            int[] otherStarts = new int[chunks + 1];
+            for (int chunk = 1; chunk < chunks; chunk++) {
+                starts[chunk] = (int) ((long) values.length * chunk / chunks);
+                otherStarts[chunk] = lowerBound(other, values[starts[chunk]]);
+            }
+            starts[chunks] = values.length;
+            otherStarts[chunks] = other.length;
+
+            int[] counts = new int[chunks];
+            IntStream.range(0, chunks).parallel().forEach(chunk -> counts[chunk] = merge(
+                    values, starts[chunk], starts[chunk + 1],
+                    other, otherStarts[chunk], otherStarts[chunk + 1],
+                    operation, out, outputStart(operation, starts[chunk], otherStarts[chunk])));
+
+            count = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                System.arraycopy(out, outputStart(operation, starts[chunk], otherStarts[chunk]), out, count, counts[chunk]);
+                count += counts[chunk];
+            }
+        }
+
+        return new DoubleEdgedLinearSequence<>(out, count);
+    }
+
+    private static int outputStart(Operation operation, int start, int otherStart) {
+        return operation == Operation.UNION ? start + otherStart : start;
+    }
+
+    /**
+     * O(n + m) - Merges values[lo, hi) and other[otherLo, otherHi) into out[at, ...)
+     *
+     * @return how many values were written
+     */
+    private static <T extends Comparable<T>> int merge(T[] values, int lo, int hi, T[] other, int otherLo, int otherHi,
+                                                      Operation operation, T[] out, int at) {
+        int start = at;
+        while (lo < hi && otherLo < otherHi) {
+            int compare = values[lo].compareTo(other[otherLo]);
+            if (compare < 0) {
+                if (operation != Operation.INTERSECTION) {
+                    out[at++] = values[lo];
+                }
+                lo++;
+            } else if (compare > 0) {
+                if (operation == Operation.UNION) {
+                    out[at++] = other[otherLo];
+                }
+                otherLo++;
+            } else {
+                if (operation == Operation.UNION) {
+                    out[at++] = other[otherLo];
+                } else if (operation == Operation.INTERSECTION) {
+                    out[at++] = values[lo];
+                }
+                lo++;
+                otherLo++;
+            }
+        }
+
+        if (operation != Operation.INTERSECTION) {
+            System.arraycopy(values, lo, out, at, hi - lo);
+            at += hi - lo;
+        }
+        if (operation == Operation.UNION) {
+            System.arraycopy(other, otherLo, out, at, otherHi - otherLo);
+            at += otherHi - otherLo;
+        }
+        return at - start;
+    }
+
+    /**
+     * O(log(n))
+     */
+    private static <T extends Comparable<T>> int lowerBound(T[] values, T value) {
+        int lo = 0;
+        int hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid].compareTo(value) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * O(m) for sorted sets, O(m*log(m)) at worst
+     */
+    private static <T extends Comparable<T>> T[] sortedValues(Set<T> set) {
+        if (set instanceof SortedSequenceSet<T> sorted) {
+            return toArray(sorted.sequence);
+        }
+
+        T[] values = newArray(set.size());
+        int i = 0;
+        for (T value : set) {
+            values[i++] = value;
+        }
+        return sortedDistinct(values);
+    }
+
+    /**
+     * O(m) when values are already sorted and distinct (returned as they are), O(m*log(m)) otherwise.
+     * Never modifies values, of equal values the last one is kept
+     */
+    private static <T extends Comparable<T>> T[] sortedDistinct(T[] values) {
+        boolean strictlyAscending = true;
+        for (int i = 1; i < values.length && strictlyAscending; i++) {
+            strictlyAscending = values[i - 1].compareTo(values[i]) < 0;
+        }
+        if (strictlyAscending) {
+            return values;
+        }
+
+        T[] sorted = values.clone();
+        // stable, equal values are still in the order they were given
+        TimSort.sort(sorted);
+        int count = 0;
+        for (T value : sorted) {
+            if (count > 0 && sorted[count - 1].compareTo(value) == 0) {
+                sorted[count - 1] = value;
+            } else {
+                sorted[count++] = value;
+            }
+        }
+        return count == sorted.length ? sorted : Arrays.copyOf(sorted, count);
+    }
+
+    /**
+     * O(n)
+     */
+    private static <T extends Comparable<T>> T[] toArray(DoubleEdgedLinearSequence<T> sequence) {
+        T[] values = newArray(sequence.size());
+        for (int i = 0; i < values.length; i++) {
+            values[i] = sequence.at(i);
+        }
+        return values;
+    }
+
+    /**
+     * O(length) - The only place an array of T is made. T erases to Comparable, so a Comparable[] is what
+     * every T[] in here is at runtime
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> T[] newArray(int length) {
+        return (T[]) new Comparable<?>[length];
+    }
+
     /**
      * O(n)
      */
@@ -0,0 +1,414 @@
+package datastructures.set;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Open addressing laid out like Abseil's Swiss table.
+ * <p>
+ * Each slot has a control byte in a separate byte[]:
+ * - EMPTY (0b1000_0000) never used since the last rehash
+ * - DELETED (0b1111_1110) thumbstone
+ * - FULL (0b0xxx_xxxx) the lower 7 bits of the hash of the value in the slot
+ * <p>
+ * Values sit in a parallel Object[]. Slots are probed in groups of 8 control bytes,
+ * read as a single long, and compared all at once with bit tricks (SWAR). Only slots
+ * whose 7 bits match are compared with equals, so a miss rarely touches the values at all,
+ * and the metadata of a whole group is a single cache line read.
+ * <p>
+ * The upper bits of the hash pick the first group, groups are visited with
+ * triangular probing (+1, +2, +3...) which visits every group of a power of two table.
+ *
+ * @param <T>
+ */
+public class SwissTableHashSet<T> implements Set<T> {
+
+    private static final byte EMPTY = (byte) 0b1000_0000;
+    private static final byte DELETED = (byte) 0b1111_1110;
+
+    private static final int GROUP_WIDTH = 8;
+    private static final long LSB = 0x0101010101010101L;
+    private static final long MSB = 0x8080808080808080L;
+
+    private static final VarHandle GROUP = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int GROWTH_RATIO = 2;
+    private static final float MAX_LOAD_FACTOR = 0.875f;
+
+    private byte[] control;
+    private Object[] values;
+    private int size;
+    private int deleted;
+
+    /**
+     * O(capacity)
+     */
+    public SwissTableHashSet(int capacity) {
+        allocate(Math.max(GROUP_WIDTH, Hashing.tableSizeFor(capacity)));
+    }
+
+    /**
+     * O(1)
+     */
+    public SwissTableHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * O(n)
+     */
+    public SwissTableHashSet(T[] values) {
+        this(values == null ? DEFAULT_CAPACITY : (int) (values.length / MAX_LOAD_FACTOR) + 1);
+        if (values != null) {
+            for (T value : values) {
+                add(value);
+            }
+        }
+    }
+
+    /**
+     * O(1) expected
+     */
+    @Override
+    public boolean contains(T value) {
+        return findPos(value) != -1;
+    }
+
+    /**
+     * O(1) expected
+     */
+    @Override
+    public T find(T value) {
+        int pos = findPos(value);
+        return pos == -1 ? null : (T) values[pos];
+    }
+
+    /**
+     * O(1) expected
+     *
+     * @return slot of value, -1 if not found
+     */
+    private int findPos(T value) {
+        if (value == null) {
+            return -1;
+        }
+
+        int hash = Hashing.hash(value.hashCode());
+        long h2 = h2(hash);
+        int groupMask = groups() - 1;
+        int group = h1(hash) & groupMask;
+        for (int probe = 1; ; probe++) {
+            long word = group(group);
+
+            long matches = match(word, h2);
+            while (matches != 0) {
+                int pos = group * GROUP_WIDTH + (Long.numberOfTrailingZeros(matches) >>> 3);
+                if (Objects.equals(values[pos], value)) {
+                    return pos;
+                }
+                matches &= matches - 1;
+            }
+
+            // value would have been placed in the empty slot
+            if (matchEmpty(word) != 0) {
+                return -1;
+            }
+
+            group = (group + probe) & groupMask;
+        }
+    }
+
+    /**
+     * Amortized O(1)
+     */
+    @Override
+    public void add(T value) {
+        if (value == null || findPos(value) != -1) {
+            return;
+        }
+
+        if (size + deleted + 1 > maxFill()) {
+            // if it's mostly thumbstones, rebuilding at the same capacity is enough
+            int newCapacity = size + 1 > maxFill() / GROWTH_RATIO ? control.length * GROWTH_RATIO : control.length;
+            rehash(newCapacity);
+        }
+
+        int hash = Hashing.hash(value.hashCode());
+        int pos = findFreePos(hash);
+        if (control[pos] == DELETED) {
+            deleted--;
+        }
+
+        control[pos] = (byte) h2(hash);
+        values[pos] = value;
+        size++;
+    }
+
+    /**
+     * O(1) expected
+     *
+     * @return first EMPTY or DELETED slot in the probing of hash
+     */
+    private int findFreePos(int hash) {
+        int groupMask = groups() - 1;
+        int group = h1(hash) & groupMask;
+        for (int probe = 1; ; probe++) {
+            long free = group(group) & MSB;
+            if (free != 0) {
+                return group * GROUP_WIDTH + (Long.numberOfTrailingZeros(free) >>> 3);
+            }
+
+            group = (group + probe) & groupMask;
+        }
+    }
+
+    /**
+     * O(1) expected
+     */
+    @Override
+    public T delete(T value) {
+        int pos = findPos(value);
+        if (pos == -1) {
+            return null;
+        }
+
+        T refToValue = (T) values[pos];
+        values[pos] = null;
+        size--;
+
+        // If the group still has an empty slot it was never full,
+        // so no probing went through it and the slot can be EMPTY again.
+        if (matchEmpty(group(pos / GROUP_WIDTH)) != 0) {
+            control[pos] = EMPTY;
+        } else {
+            control[pos] = DELETED;
+            deleted++;
+        }
+
+        return refToValue;
+    }
+
+    /**
+     * O(capacity)
+     */
+    @Override
+    public T first() {
+        return nextFrom(0);
+    }
+
+    /**
+     * O(capacity)
+     */
+    @Override
+    public T last() {
+        return previousFrom(control.length - 1);
+    }
+
+    /**
+     * O(capacity)
+     */
+    @Override
+    public T findPrevious(T value) {
+        int pos = findPos(value);
+        if (pos == -1) {
+            return null;
+        }
+
+        return previousFrom(pos - 1);
+    }
+
+    /**
+     * O(capacity)
+     */
+    @Override
+    public T findNext(T value) {
+        int pos = findPos(value);
+        if (pos == -1) {
+            return null;
+        }
+
+        return nextFrom(pos + 1);
+    }
+
+    /**
+     * O(1)
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return control.length;
+    }
+
+    /**
+     * O(capacity), a single pass over the control bytes
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int pos = nextPos(0);
+
+            @Override
+            public boolean hasNext() {
+                return pos < control.length;
+            }
+
+            @Override
+            public T next() {
+                if (pos >= control.length) {
+                    throw new NoSuchElementException();
+                }
+
+                T value = (T) values[pos];
+                pos = nextPos(pos + 1);
+                return value;
+            }
+        };
+    }
+
+    /**
+     * O(capacity)
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (int i = 0; i < control.length; i++) {
+            if (control[i] >= 0) {
+                action.accept((T) values[i]);
+            }
+        }
+    }
+
+    /**
+     * @return first FULL slot from `from`, control.length if none
+     */
+    private int nextPos(int from) {
+        int pos = from;
+        while (pos < control.length && control[pos] < 0) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * O(capacity)
+     */
+    private T nextFrom(int from) {
+        for (int i = from; i < control.length; i++) {
+            if (control[i] >= 0) {
+                return (T) values[i];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * O(capacity)
+     */
+    private T previousFrom(int from) {
+        for (int i = from; i >= 0; i--) {
+            if (control[i] >= 0) {
+                return (T) values[i];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * O(n) single pass, thumbstones are dropped
+     */
+    private void rehash(int newCapacity) {
+        byte[] oldControl = control;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldControl.length; i++) {
+            if (oldControl[i] >= 0) {
+                int hash = Hashing.hash(oldValues[i].hashCode());
+                int pos = findFreePos(hash);
+                control[pos] = (byte) h2(hash);
+                values[pos] = oldValues[i];
+            }
+        }
+
+        deleted = 0;
+    }
+
+    private void allocate(int capacity) {
+        control = new byte[capacity];
+        Arrays.fill(control, EMPTY);
+        values = new Object[capacity];
+    }
+
+    private int groups() {
+        return control.length / GROUP_WIDTH;
+    }
+
+    /**
+     * @return the 8 control bytes of group as a long, first slot in the lowest byte
+     */
+    private long group(int group) {
+        return (long) GROUP.get(control, group * GROUP_WIDTH);
+    }
+
+    private int maxFill() {
+        return Math.min((int) (control.length * MAX_LOAD_FACTOR), control.length - 1);
+    }
+
+    /**
+     * @return high bit set on every byte of word equal to h2. Might have false positives
+     * right after a real match, fine since every match is checked with equals anyway.
+     */
+    private static long match(long word, long h2) {
+        long x = word ^ (LSB * h2);
+        return (x - LSB) & ~x & MSB;
+    }
+
+    /**
+     * Only EMPTY and DELETED have the high bit set, and only DELETED has bit 1 set
+     *
+     * @return high bit set on every EMPTY byte of word
+     */
+    private static long matchEmpty(long word) {
+        return word & ~(word << 6) & MSB;
+    }
+
+    /**
+     * @return upper bits of the hash, picks the group
+     */
+    private static int h1(int hash) {
+        return hash >>> 7;
+    }
+
+    /**
+     * @return lower 7 bits of the hash, kept in the control byte
+     */
+    private static long h2(int hash) {
+        return hash & 0x7F;
+    }
+
+    /**
+     * O(capacity)
+     */
+    @Override
+    public String toString() {
+        Object[] present = new Object[size];
+        int j = 0;
+        for (int i = 0; i < control.length; i++) {
+            if (control[i] >= 0) {
+                present[j++] = values[i];
+            }
+        }
+        return Arrays.toString(present);
+    }
+}
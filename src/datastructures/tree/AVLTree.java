@@ -108,7 +108,7 @@ public class AVLTree<T> {
             AVLTree<T> tmp = this.left;
             this.left = this.treeAdapter.apply(value);
             this.left.left = tmp;
-            this.left.left.parent = this.right;
+            this.left.left.parent = this.left;
             this.left.updateComputedProperties();
         }
 
@@ -0,0 +1,493 @@
+package datastructures.tree;
+
+import java.util.Arrays;
+
+/**
+ * AVL tree with its nodes in parallel arrays instead of objects (a node pool).
+ * <p>
+ * {@link AVLTree} is an object per node: header, value, parent, left, right, size, height and the adapter,
+ * 40 bytes before the value itself, and every level down goes to some other place of the heap. Here a node
+ * is an int index in the pool:
+ * - values[n], left[n], right[n], parent[n], sizes[n] and heights[n], 21 bytes a node
+ * - index 0 ({NIL}) is the empty tree, its size and height are 0 so children don't need null checks
+ * - deleted nodes go to a free list, chained through right, and are handed out again before the pool grows
+ * <p>
+ * Ordering is up to the caller, values are inserted before or after a node by in order position.
+ * Node indexes are only valid until the next delete, a delete may move a value to another node.
+ */
+public class PooledAVLTree<T> {
+
+    public static final int NIL = 0;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] values;
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private int[] sizes;
+    private byte[] heights;
+
+    private int root = NIL;
+    // first slot never handed out
+    private int unused = 1;
+    // head of the free list
+    private int free = NIL;
+
+    /**
+     * O(1)
+     */
+    public PooledAVLTree() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * O(capacity)
+     *
+     * @param initialCapacity nodes before the pool grows
+     */
+    public PooledAVLTree(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1) + 1; // + NIL
+        values = new Object[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        parent = new int[capacity];
+        sizes = new int[capacity];
+        heights = new byte[capacity];
+    }
+
+    /**
+     * O(1)
+     */
+    public int size() {
+        return sizes[root];
+    }
+
+    /**
+     * O(1)
+     */
+    public int height() {
+        return heights[root];
+    }
+
+    /**
+     * O(1)
+     */
+    public int root() {
+        return root;
+    }
+
+    /**
+     * O(1)
+     */
+    public int left(int node) {
+        return left[node];
+    }
+
+    /**
+     * O(1)
+     */
+    public int right(int node) {
+        return right[node];
+    }
+
+    /**
+     * O(1)
+     */
+    public int parent(int node) {
+        return parent[node];
+    }
+
+    /**
+     * O(1)
+     */
+    public int size(int node) {
+        return sizes[node];
+    }
+
+    /**
+     * O(1)
+     */
+    public T value(int node) {
+        return (T) values[node];
+    }
+
+    /**
+     * O(1)
+     */
+    public void setValue(int node, T value) {
+        values[node] = value;
+    }
+
+    /**
+     * O(log(n))
+     *
+     * @return smallest node, NIL when empty
+     */
+    public int first() {
+        return first(root);
+    }
+
+    /**
+     * O(log(n))
+     *
+     * @return biggest node, NIL when empty
+     */
+    public int last() {
+        return last(root);
+    }
+
+    /**
+     * O(log(n)), amortized O(1) walking the whole tree
+     *
+     * @return in order successor, NIL after the last
+     */
+    public int next(int node) {
+        if (right[node] != NIL) {
+            return first(right[node]);
+        }
+
+        // while node is the right side of its parent, walk up
+        int up = parent[node];
+        while (up != NIL && right[up] == node) {
+            node = up;
+            up = parent[up];
+        }
+        return up;
+    }
+
+    /**
+     * O(log(n)), amortized O(1) walking the whole tree
+     *
+     * @return in order predecessor, NIL before the first
+     */
+    public int previous(int node) {
+        if (left[node] != NIL) {
+            return last(left[node]);
+        }
+
+        // while node is the left side of its parent, walk up
+        int up = parent[node];
+        while (up != NIL && left[up] == node) {
+            node = up;
+            up = parent[up];
+        }
+        return up;
+    }
+
+    /**
+     * O(log(n))
+     *
+     * @return node at the in order position pos
+     */
+    public int at(int pos) {
+        if (pos < 0 || pos >= size()) {
+            throw new IndexOutOfBoundsException("Can't access node " + pos + " in a tree of size " + size());
+        }
+
+        int node = root;
+        while (true) {
+            int leftSize = sizes[left[node]];
+            if (pos == leftSize) {
+                return node;
+            }
+
+            if (pos < leftSize) {
+                node = left[node];
+            } else {
+                // only the positions after this node are left
+                pos -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    /**
+     * O(log(n))
+     *
+     * @return the new node
+     */
+    public int insertFirst(T value) {
+        return insertBefore(first(), value);
+    }
+
+    /**
+     * O(log(n))
+     *
+     * @return the new node
+     */
+    public int insertLast(T value) {
+        return insertAfter(last(), value);
+    }
+
+    /**
+     * O(log(n)) - The value goes right before node in order, as the only node when the tree is empty
+     *
+     * @return the new node
+     */
+    public int insertBefore(int node, T value) {
+        if (root == NIL) {
+            root = allocate(value, NIL);
+            return root;
+        }
+
+        int inserted;
+        if (left[node] == NIL) {
+            inserted = allocate(value, node);
+            left[node] = inserted;
+        } else {
+            // right after the previous one
+            int previous = last(left[node]);
+            inserted = allocate(value, previous);
+            right[previous] = inserted;
+        }
+
+        rebalance(parent[inserted]);
+        return inserted;
+    }
+
+    /**
+     * O(log(n)) - The value goes right after node in order, as the only node when the tree is empty
+     *
+     * @return the new node
+     */
+    public int insertAfter(int node, T value) {
+        if (root == NIL) {
+            root = allocate(value, NIL);
+            return root;
+        }
+
+        int inserted;
+        if (right[node] == NIL) {
+            inserted = allocate(value, node);
+            right[node] = inserted;
+        } else {
+            // right before the next one
+            int next = first(right[node]);
+            inserted = allocate(value, next);
+            left[next] = inserted;
+        }
+
+        rebalance(parent[inserted]);
+        return inserted;
+    }
+
+    /**
+     * O(log(n)) - A node with two children takes the value of its successor, and the successor is removed instead
+     *
+     * @return the value of node
+     */
+    public T delete(int node) {
+        T deleted = (T) values[node];
+        if (left[node] != NIL && right[node] != NIL) {
+            int successor = first(right[node]);
+            values[node] = values[successor];
+            node = successor;
+        }
+
+        // at most one child, it takes the place of node
+        int child = left[node] != NIL ? left[node] : right[node];
+        int up = parent[node];
+        if (child != NIL) {
+            parent[child] = up;
+        }
+        replaceChild(up, node, child);
+        release(node);
+
+        rebalance(up);
+        return deleted;
+    }
+
+    /**
+     * O(n)
+     */
+    public String transversalOrder() {
+        StringBuilder builder = new StringBuilder(size() * 16);
+        for (int node = first(); node != NIL; node = next(node)) {
+            if (!builder.isEmpty()) {
+                builder.append(",");
+            }
+            builder.append(values[node]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * O(1) - Slots in the pool, NIL included
+     */
+    int capacity() {
+        return values.length;
+    }
+
+    private int first(int node) {
+        while (left[node] != NIL) {
+            node = left[node];
+        }
+        return node;
+    }
+
+    private int last(int node) {
+        while (right[node] != NIL) {
+            node = right[node];
+        }
+        return node;
+    }
+
+    /**
+     * O(log(n)) - Walks up from node to the root, fixing sizes, heights and rotating the unbalanced ones
+     */
+    private void rebalance(int node) {
+        while (node != NIL) {
+            update(node);
+            node = parent[balance(node)];
+        }
+    }
+
+    /**
+     * O(1)
+     *
+     * @return node taking the place of node
+     */
+    private int balance(int node) {
+        int skew = heights[right[node]] - heights[left[node]];
+        if (skew > 1) {
+            // right is taller than left
+            int r = right[node];
+            if (heights[left[r]] > heights[right[r]]) {
+                rotateRight(r);
+            }
+            return rotateLeft(node);
+        }
+
+        if (skew < -1) {
+            // left is taller than right
+            int l = left[node];
+            if (heights[right[l]] > heights[left[l]]) {
+                rotateLeft(l);
+            }
+            return rotateRight(node);
+        }
+
+        return node;
+    }
+
+    /**
+     * O(1)
+     *
+     * @return new root of the subtree
+     */
+    private int rotateLeft(int node) {
+        int newRoot = right[node];
+        int rotatedChild = left[newRoot];
+        int up = parent[node];
+
+        right[node] = rotatedChild;
+        if (rotatedChild != NIL) {
+            parent[rotatedChild] = node;
+        }
+
+        left[newRoot] = node;
+        parent[node] = newRoot;
+        parent[newRoot] = up;
+        replaceChild(up, node, newRoot);
+
+        update(node);
+        update(newRoot);
+        return newRoot;
+    }
+
+    /**
+     * O(1)
+     *
+     * @return new root of the subtree
+     */
+    private int rotateRight(int node) {
+        int newRoot = left[node];
+        int rotatedChild = right[newRoot];
+        int up = parent[node];
+
+        left[node] = rotatedChild;
+        if (rotatedChild != NIL) {
+            parent[rotatedChild] = node;
+        }
+
+        right[newRoot] = node;
+        parent[node] = newRoot;
+        parent[newRoot] = up;
+        replaceChild(up, node, newRoot);
+
+        update(node);
+        update(newRoot);
+        return newRoot;
+    }
+
+    /**
+     * O(1) - Points the parent that had child to replacement, or the root when there's no parent
+     */
+    private void replaceChild(int up, int child, int replacement) {
+        if (up == NIL) {
+            root = replacement;
+        } else if (left[up] == child) {
+            left[up] = replacement;
+        } else {
+            right[up] = replacement;
+        }
+    }
+
+    /**
+     * O(1)
+     */
+    private void update(int node) {
+        sizes[node] = sizes[left[node]] + sizes[right[node]] + 1;
+        heights[node] = (byte) (Math.max(heights[left[node]], heights[right[node]]) + 1);
+    }
+
+    /**
+     * Amortized O(1) - A free node if there's any, otherwise the next unused slot, doubling the pool when full
+     */
+    private int allocate(T value, int up) {
+        int node;
+        if (free != NIL) {
+            node = free;
+            free = right[node];
+        } else {
+            if (unused == values.length) {
+                grow();
+            }
+            node = unused++;
+        }
+
+        values[node] = value;
+        left[node] = NIL;
+        right[node] = NIL;
+        parent[node] = up;
+        sizes[node] = 1;
+        heights[node] = 1;
+        return node;
+    }
+
+    /**
+     * O(1) - Cleans node and puts it in the free list
+     */
+    private void release(int node) {
+        values[node] = null;
+        left[node] = NIL;
+        parent[node] = NIL;
+        sizes[node] = 0;
+        heights[node] = 0;
+        right[node] = free;
+        free = node;
+    }
+
+    /**
+     * O(n)
+     */
+    private void grow() {
+        int capacity = values.length * 2;
+        values = Arrays.copyOf(values, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        sizes = Arrays.copyOf(sizes, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+    }
+}
@@ -0,0 +1,278 @@
+package nio;
+
+import datastructures.MergeSort;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Sorts a file of fixed-width records bigger than the heap (out-of-core merge sort).
+ * <p>
+ * - the input is read through a {@link FileChannel} in chunks that fit the memory budget, each chunk is
+ *   sorted in the heap with {@link MergeSort} and spilled as a sorted run. Runs go one after the other
+ *   in a single spill file
+ * - runs are merged k-way: a cursor per run reads through a memory-mapped window of the spill file,
+ *   cursors sit in a min-heap by their current record, the smallest one is written out and advanced
+ * <p>
+ * Records are ordered by their first keySize bytes compared as unsigned (memcmp order). Stable,
+ * records with equal keys keep their order, ties between runs go to the earlier run.
+ * <p>
+ * Everything is read and written twice (once if it fits in the budget). There is a single merge pass,
+ * so every run gets its own window of the address space: fine on 64 bits for thousands of runs.
+ */
+public class ExternalMergeSort {
+
+    // the Record view, its reference in the array and its slot in the merge sort buffer
+    private static final int RECORD_OVERHEAD = 32;
+    // heap buffers are read and written in slices, the JDK copies them through a temporary
+    // direct buffer as big as the request and keeps it around
+    private static final int IO_CHUNK = 1 << 20;
+    private static final int DEFAULT_WINDOW = 1 << 24;
+
+    private final int recordSize;
+    private final int keySize;
+    private final long memoryBudget;
+    private final Path tmpDir;
+    private final int windowSize;
+
+    /**
+     * Spills into the default temporary directory
+     *
+     * @param memoryBudget bytes of heap to use for a run, records included
+     */
+    public ExternalMergeSort(int recordSize, int keySize, long memoryBudget) {
+        this(recordSize, keySize, memoryBudget, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * @param memoryBudget bytes of heap to use for a run, records included
+     * @param tmpDir       where the spill file goes, ideally the same disk as the output
+     */
+    public ExternalMergeSort(int recordSize, int keySize, long memoryBudget, Path tmpDir) {
+        this(recordSize, keySize, memoryBudget, tmpDir, DEFAULT_WINDOW);
+    }
+
+    ExternalMergeSort(int recordSize, int keySize, long memoryBudget, Path tmpDir, int windowSize) {
+        if (recordSize <= 0 || keySize <= 0 || keySize > recordSize) {
+            throw new IllegalArgumentException("Key of " + keySize + " bytes does not fit a record of " + recordSize);
+        }
+        if (memoryBudget < recordSize + RECORD_OVERHEAD) {
+            throw new IllegalArgumentException("Memory budget of " + memoryBudget + " bytes can't hold a single record");
+        }
+
+        this.recordSize = recordSize;
+        this.keySize = keySize;
+        this.memoryBudget = memoryBudget;
+        this.tmpDir = tmpDir;
+        // whole records only, so a record never straddles two windows
+        this.windowSize = Math.max(1, windowSize / recordSize) * recordSize;
+    }
+
+    /**
+     * O(n*log(n)) comparisons, O(n) I/O twice. Output is created or overwritten, and must not be the input
+     */
+    public void sort(Path input, Path output) throws IOException {
+        try (FileChannel in = FileChannel.open(input, READ)) {
+            long size = in.size();
+            if (size % recordSize != 0) {
+                throw new IllegalArgumentException(input + " has " + size + " bytes, not a multiple of " + recordSize);
+            }
+
+            long runRecords = Math.min(memoryBudget / (recordSize + RECORD_OVERHEAD), (Integer.MAX_VALUE - 8) / recordSize);
+            long runBytes = runRecords * recordSize;
+            byte[] chunk = new byte[(int) Math.min(runBytes, size)];
+            ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(IO_CHUNK, recordSize));
+
+            // fits in memory, straight to the output
+            if (size <= runBytes) {
+                try (FileChannel out = FileChannel.open(output, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                    spill(chunk, readFully(in, chunk), out, buffer);
+                }
+                return;
+            }
+
+            Path spillFile = Files.createTempFile(tmpDir, "external-sort", ".runs");
+            try (FileChannel runs = FileChannel.open(spillFile, READ, WRITE, DELETE_ON_CLOSE)) {
+                long[] runEnds = new long[(int) ((size + runBytes - 1) / runBytes)];
+                for (int run = 0; run < runEnds.length; run++) {
+                    spill(chunk, readFully(in, chunk), runs, buffer);
+                    runEnds[run] = runs.position();
+                }
+
+                chunk = null;
+                try (FileChannel out = FileChannel.open(output, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                    merge(runs, runEnds, out, buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * O(n*log(n)) - Sorts the records in chunk[0, length) and writes them in order
+     */
+    private void spill(byte[] chunk, int length, FileChannel out, ByteBuffer buffer) throws IOException {
+        Record[] records = new Record[length / recordSize];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = new Record(chunk, i * recordSize, keySize);
+        }
+        MergeSort.sort(records);
+
+        for (Record record : records) {
+            if (buffer.remaining() < recordSize) {
+                flush(out, buffer);
+            }
+            buffer.put(chunk, record.offset(), recordSize);
+        }
+        flush(out, buffer);
+    }
+
+    /**
+     * O(n*log(k)) - k-way merge of the runs of the spill file into out
+     */
+    private void merge(FileChannel runs, long[] runEnds, FileChannel out, ByteBuffer buffer) throws IOException {
+        RunCursor[] heap = new RunCursor[runEnds.length];
+        int size = 0;
+        long start = 0;
+        for (int run = 0; run < runEnds.length; run++) {
+            heap[size++] = new RunCursor(runs, start, runEnds[run], run);
+            start = runEnds[run];
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(heap, size, i);
+        }
+
+        while (size > 0) {
+            RunCursor smallest = heap[0];
+            if (buffer.remaining() < recordSize) {
+                flush(out, buffer);
+            }
+            smallest.copyTo(buffer);
+
+            // the cursor goes back into the heap where it belongs, a single sift instead of a poll and an add
+            if (!smallest.advance()) {
+                heap[0] = heap[--size];
+            }
+            siftDown(heap, size, 0);
+        }
+        flush(out, buffer);
+    }
+
+    private static void siftDown(RunCursor[] heap, int size, int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && heap[left].compareTo(heap[smallest]) < 0) {
+                smallest = left;
+            }
+            if (right < size && heap[right].compareTo(heap[smallest]) < 0) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+
+            RunCursor swap = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = swap;
+            i = smallest;
+        }
+    }
+
+    private static int readFully(FileChannel in, byte[] chunk) throws IOException {
+        int read = 0;
+        while (read < chunk.length) {
+            int n = in.read(ByteBuffer.wrap(chunk, read, Math.min(IO_CHUNK, chunk.length - read)));
+            if (n < 0) {
+                break;
+            }
+            read += n;
+        }
+        return read;
+    }
+
+    private static void flush(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * A record inside a chunk, only the offset moves while sorting
+     */
+    private record Record(byte[] chunk, int offset, int keySize) implements Comparable<Record> {
+        @Override
+        public int compareTo(Record other) {
+            return Arrays.compareUnsigned(chunk, offset, offset + keySize, other.chunk, other.offset, other.offset + keySize);
+        }
+    }
+
+    /**
+     * Reads a run of the spill file a window at a time, the key of the current record is kept aside
+     * so comparing cursors doesn't go through the mapped buffers
+     */
+    private class RunCursor implements Comparable<RunCursor> {
+        private final FileChannel channel;
+        private final long end;
+        private final int run;
+        private final byte[] key = new byte[keySize];
+        private MappedByteBuffer window;
+        private long windowStart;
+        private int position;
+
+        RunCursor(FileChannel channel, long start, long end, int run) throws IOException {
+            this.channel = channel;
+            this.end = end;
+            this.run = run;
+            map(start);
+        }
+
+        private void map(long from) throws IOException {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(windowSize, end - from));
+            windowStart = from;
+            position = 0;
+            window.get(0, key);
+        }
+
+        void copyTo(ByteBuffer buffer) {
+            buffer.put(buffer.position(), window, position, recordSize);
+            buffer.position(buffer.position() + recordSize);
+        }
+
+        /**
+         * @return false when the run is over
+         */
+        boolean advance() throws IOException {
+            position += recordSize;
+            if (windowStart + position == end) {
+                return false;
+            }
+
+            if (position == window.limit()) {
+                map(windowStart + position);
+            } else {
+                window.get(position, key);
+            }
+            return true;
+        }
+
+        @Override
+        public int compareTo(RunCursor other) {
+            int comparison = Arrays.compareUnsigned(key, other.key);
+            return comparison != 0 ? comparison : Integer.compare(run, other.run);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.Arrays;
+import java.util.Random;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -137,6 +138,75 @@ class BinarySearchTest {
         }
     }
 
+    @Test
+    void lowerBound_sameAsLinearScan() {
+        Random random = new Random(13);
+        for (int size = 0; size < 70; size++) {
+            // duplicates and gaps, probes go past both ends
+            int[] sorted = random.ints(size, 0, 2 * size + 1).sorted().toArray();
+            Integer[] boxed = Arrays.stream(sorted).boxed().toArray(Integer[]::new);
+            DoubleEdgedLinearSequence<Integer> sequence = new DoubleEdgedLinearSequence<>(boxed.clone());
+            BinarySearch.Eytzinger eytzinger = new BinarySearch.Eytzinger(sorted);
+
+            for (int value = -1; value <= 2 * size + 2; value++) {
+                int expected = 0;
+                while (expected < size && sorted[expected] < value) {
+                    expected++;
+                }
+
+                assertEquals(expected, BinarySearch.lowerBound(sorted, value));
+                assertEquals(expected, BinarySearch.lowerBound(boxed, value));
+                assertEquals(expected, BinarySearch.lowerBound(sequence, value));
+                assertEquals(expected, eytzinger.lowerBound(value));
+                assertEquals(expected < size && sorted[expected] == value, eytzinger.contains(value));
+            }
+        }
+    }
+
+    @Test
+    void lowerBounds_sameAsOneByOne() {
+        Random random = new Random(19);
+        for (int size : new int[]{0, 1, 2, 7, 8, 9, 100, 10_000}) {
+            int[] sorted = random.ints(size, 0, 4 * size + 1).sorted().toArray();
+            DoubleEdgedLinearSequence<Integer> sequence = new DoubleEdgedLinearSequence<>(Arrays.stream(sorted).boxed().toArray(Integer[]::new));
+
+            // not a multiple of the lanes, with values past both ends
+            int[] probes = random.ints(1_003, -2, 4 * size + 3).toArray();
+            int[] ascending = probes.clone();
+            Arrays.sort(ascending);
+
+            for (int[] batch : new int[][]{probes, ascending}) {
+                Integer[] boxed = Arrays.stream(batch).boxed().toArray(Integer[]::new);
+                int[] bounds = BinarySearch.lowerBounds(sorted, batch);
+                int[] boxedBounds = BinarySearch.lowerBounds(sequence, boxed);
+                for (int i = 0; i < batch.length; i++) {
+                    int expected = BinarySearch.lowerBound(sorted, batch[i]);
+                    assertEquals(expected, bounds[i]);
+                    assertEquals(expected, boxedBounds[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void eytzinger_large() {
+        Random random = new Random(17);
+        int[] sorted = random.ints(100_000).distinct().sorted().toArray();
+        BinarySearch.Eytzinger eytzinger = new BinarySearch.Eytzinger(sorted);
+
+        assertEquals(sorted.length, eytzinger.size());
+        for (int i = 0; i < sorted.length; i += 7) {
+            assertEquals(i, eytzinger.lowerBound(sorted[i]));
+            assertTrue(eytzinger.contains(sorted[i]));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt();
+            int expected = Arrays.binarySearch(sorted, value);
+            assertEquals(expected >= 0 ? expected : -expected - 1, eytzinger.lowerBound(value));
+            assertEquals(expected >= 0, eytzinger.contains(value));
+        }
+    }
+
 
     static Stream<Arguments> sortedArgumentProvider() {
         int[] sizes = new int[]{1, 100, 200, 400, 800, 1600};
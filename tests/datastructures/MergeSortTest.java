@@ -5,8 +5,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.Arrays;
+import java.util.Random;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
@@ -73,6 +75,123 @@ public class MergeSortTest {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {2, 31, 32, 33, 65, 1_000, 4_097, 100_000})
+    public void sort_random(int size) {
+        Random random = new Random(size);
+        Integer[] input = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = random.nextInt(size);
+        }
+        Integer[] expected = input.clone();
+        Arrays.sort(expected);
+        Integer[] byBook = input.clone();
+
+        MergeSort.sort(input);
+        MergeSort.sortByBook(byBook);
+        assertArrayEquals(expected, input);
+        assertArrayEquals(expected, byBook);
+    }
+
+    private record Item(int key, int order) implements Comparable<Item> {
+        @Override
+        public int compareTo(Item other) {
+            return Integer.compare(key, other.key);
+        }
+    }
+
+    @Test
+    public void sort_stable() {
+        Random random = new Random(11);
+        Item[] items = new Item[10_000];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new Item(random.nextInt(8), i);
+        }
+
+        MergeSort.sort(items);
+        for (int i = 1; i < items.length; i++) {
+            assertTrue(items[i - 1].key() <= items[i].key());
+            if (items[i - 1].key() == items[i].key()) {
+                assertTrue(items[i - 1].order() < items[i].order());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 17, 1_000, 4_095, 4_096, 100_000})
+    public void sort_primitives(int size) {
+        Random random = new Random(size);
+        int[] ints = random.ints(size).toArray();
+        long[] longs = random.longs(size).toArray();
+        double[] doubles = random.doubles(size, -1, 1).toArray();
+        int[] expectedInts = ints.clone();
+        long[] expectedLongs = longs.clone();
+        double[] expectedDoubles = doubles.clone();
+        Arrays.sort(expectedInts);
+        Arrays.sort(expectedLongs);
+        Arrays.sort(expectedDoubles);
+
+        int[] radixInts = ints.clone();
+        long[] radixLongs = longs.clone();
+        MergeSort.sort(ints);
+        MergeSort.sort(longs);
+        MergeSort.sort(doubles);
+        MergeSort.radixSort(radixInts);
+        MergeSort.radixSort(radixLongs);
+
+        assertArrayEquals(expectedInts, ints);
+        assertArrayEquals(expectedLongs, longs);
+        assertArrayEquals(expectedDoubles, doubles);
+        assertArrayEquals(expectedInts, radixInts);
+        assertArrayEquals(expectedLongs, radixLongs);
+    }
+
+    @Test
+    public void radixSort_smallAndNegativeValues() {
+        // only the lowest byte and the sign differ, the passes in between are skipped
+        Random random = new Random(7);
+        int[] ints = random.ints(50_000, -100, 100).toArray();
+        long[] longs = random.longs(50_000, -100, 100).toArray();
+        ints[0] = Integer.MIN_VALUE;
+        ints[1] = Integer.MAX_VALUE;
+        longs[0] = Long.MIN_VALUE;
+        longs[1] = Long.MAX_VALUE;
+        int[] expectedInts = ints.clone();
+        long[] expectedLongs = longs.clone();
+        Arrays.sort(expectedInts);
+        Arrays.sort(expectedLongs);
+
+        MergeSort.radixSort(ints);
+        MergeSort.radixSort(longs);
+        assertArrayEquals(expectedInts, ints);
+        assertArrayEquals(expectedLongs, longs);
+
+        // all equal, every pass skipped
+        int[] same = new int[10_000];
+        Arrays.fill(same, -3);
+        MergeSort.radixSort(same);
+        assertTrue(Arrays.stream(same).allMatch(value -> value == -3));
+    }
+
+    @Test
+    public void sort_doublesLikeDoubleCompare() {
+        double[] input = new double[]{Double.NaN, 0.0, -0.0, 1.5, Double.NEGATIVE_INFINITY, -1.5,
+                Double.POSITIVE_INFINITY, Double.NaN, 0.0, -0.0, Double.MIN_VALUE, -Double.MAX_VALUE};
+        double[] large = new double[1_000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = input[i % input.length];
+        }
+        double[] expected = input.clone();
+        double[] expectedLarge = large.clone();
+        Arrays.sort(expected);
+        Arrays.sort(expectedLarge);
+
+        MergeSort.sort(input);
+        MergeSort.sort(large);
+        assertArrayEquals(expected, input);
+        assertArrayEquals(expectedLarge, large);
+    }
+
     static Stream<Arguments> outOfOrderArgumentsProvider() {
         int[] sizes = new int[]{1, 100, 200, 400, 800, 1600};
         Arguments[] arguments = new Arguments[sizes.length];
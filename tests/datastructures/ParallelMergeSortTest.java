@@ -0,0 +1,89 @@
+package datastructures;
+
+import datastructures.sequence.DoubleEdgedLinearSequence;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelMergeSortTest {
+
+    private record Item(int key, int order) implements Comparable<Item> {
+        @Override
+        public int compareTo(Item other) {
+            return Integer.compare(key, other.key);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 3, 31, 33, 1_000, 8_193, 16_385, 100_000, 300_001})
+    void sort_sameAsArraysSort(int size) {
+        Random random = new Random(size);
+        Integer[] input = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = random.nextInt();
+        }
+        Integer[] expected = input.clone();
+        Arrays.sort(expected);
+
+        ParallelMergeSort.sort(input);
+        assertArrayEquals(expected, input);
+    }
+
+    @Test
+    void sort_alreadySortedAndReversed() {
+        Integer[] sorted = new Integer[100_000];
+        Integer[] reversed = new Integer[100_000];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i;
+            reversed[i] = sorted.length - i - 1;
+        }
+
+        ParallelMergeSort.sort(reversed);
+        assertArrayEquals(sorted, reversed);
+        ParallelMergeSort.sort(sorted);
+        assertArrayEquals(reversed, sorted);
+    }
+
+    @Test
+    void sort_stable() {
+        // few distinct keys, so lots of ties cross the parallel merges
+        Random random = new Random(3);
+        Item[] items = new Item[200_000];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new Item(random.nextInt(16), i);
+        }
+
+        try (ForkJoinPool pool = new ForkJoinPool(4)) {
+            ParallelMergeSort.sort(items, pool);
+        }
+
+        for (int i = 1; i < items.length; i++) {
+            assertTrue(items[i - 1].key() <= items[i].key());
+            if (items[i - 1].key() == items[i].key()) {
+                assertTrue(items[i - 1].order() < items[i].order());
+            }
+        }
+    }
+
+    @Test
+    void sort_sequence() {
+        Random random = new Random(5);
+        Integer[] input = new Integer[50_000];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = random.nextInt(1_000);
+        }
+        DoubleEdgedLinearSequence<Integer> sequence = new DoubleEdgedLinearSequence<>(input.clone());
+        Arrays.sort(input);
+
+        ParallelMergeSort.sort(sequence);
+        for (int i = 0; i < input.length; i++) {
+            assertEquals(input[i], sequence.at(i));
+        }
+    }
+}
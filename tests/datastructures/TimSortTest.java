@@ -0,0 +1,148 @@
+package datastructures;
+
+import datastructures.sequence.DoubleEdgedLinearSequence;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimSortTest {
+
+    private static int comparisons;
+
+    /**
+     * Counts every comparison, and keeps the original position to check stability
+     */
+    private record Item(int key, int order) implements Comparable<Item> {
+        @Override
+        public int compareTo(Item other) {
+            comparisons++;
+            return Integer.compare(key, other.key);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 31, 32, 33, 64, 65, 1_000, 4_097, 100_000})
+    void sort_random(int size) {
+        Random random = new Random(size);
+        Integer[] input = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = random.nextInt();
+        }
+        Integer[] expected = input.clone();
+        Arrays.sort(expected);
+
+        TimSort.sort(input);
+        assertArrayEquals(expected, input);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 1_000, 100_000})
+    void sort_sortedIsLinear(int size) {
+        Item[] items = new Item[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = new Item(i, i);
+        }
+
+        comparisons = 0;
+        TimSort.sort(items);
+        assertEquals(size - 1, comparisons);
+
+        // reversed is a single run as well
+        Item[] reversed = new Item[size];
+        for (int i = 0; i < size; i++) {
+            reversed[i] = new Item(size - i, i);
+        }
+
+        comparisons = 0;
+        TimSort.sort(reversed);
+        assertEquals(size - 1, comparisons);
+        for (int i = 1; i < size; i++) {
+            assertTrue(reversed[i - 1].key() < reversed[i].key());
+        }
+    }
+
+    @Test
+    void sort_nearlySortedIsCheaper() {
+        // appended timestamps, 1% arrive late
+        Random random = new Random(17);
+        Item[] items = new Item[100_000];
+        for (int i = 0; i < items.length; i++) {
+            int key = random.nextInt(100) == 0 ? i - random.nextInt(1_000) : i;
+            items[i] = new Item(key, i);
+        }
+        Item[] shuffled = items.clone();
+        for (int i = shuffled.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Item swap = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = swap;
+        }
+
+        comparisons = 0;
+        TimSort.sort(items);
+        int nearlySorted = comparisons;
+        comparisons = 0;
+        TimSort.sort(shuffled);
+        int random_ = comparisons;
+
+        assertTrue(nearlySorted * 3 < random_, nearlySorted + " vs " + random_);
+        assertSortedAndStable(items);
+    }
+
+    @Test
+    void sort_stable() {
+        Random random = new Random(3);
+        Item[] items = new Item[50_000];
+        for (int i = 0; i < items.length; i++) {
+            // runs of equal keys, ascending and descending pieces
+            items[i] = new Item(random.nextInt(20), i);
+        }
+
+        TimSort.sort(items);
+        assertSortedAndStable(items);
+    }
+
+    @Test
+    void sort_sawtoothGallops() {
+        // long interleaved runs, merges spend most of the time galloping
+        Integer[] input = new Integer[60_000];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = (i % 6_000) * 10 + i / 6_000;
+        }
+        Integer[] expected = input.clone();
+        Arrays.sort(expected);
+
+        TimSort.sort(input);
+        assertArrayEquals(expected, input);
+    }
+
+    @Test
+    void sort_sequence() {
+        Random random = new Random(5);
+        Integer[] input = new Integer[10_000];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = random.nextInt(1_000);
+        }
+        DoubleEdgedLinearSequence<Integer> sequence = new DoubleEdgedLinearSequence<>(input.clone());
+        Arrays.sort(input);
+
+        TimSort.sort(sequence);
+        for (int i = 0; i < input.length; i++) {
+            assertEquals(input[i], sequence.at(i));
+        }
+    }
+
+    private static void assertSortedAndStable(Item[] items) {
+        for (int i = 1; i < items.length; i++) {
+            assertTrue(items[i - 1].key() <= items[i].key());
+            if (items[i - 1].key() == items[i].key()) {
+                assertTrue(items[i - 1].order() < items[i].order());
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package datastructures.map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BPlusTreeMapTest {
+
+    @Test
+    void add_replacesValue() {
+        BPlusTreeMap<String, Integer> map = new BPlusTreeMap<>(3);
+        map.add("a", 1);
+        map.add("b", 2);
+        map.add("a", 3);
+        map.add(null, 4);
+
+        assertEquals(2, map.size());
+        assertEquals(3, map.get("a"));
+        assertEquals(2, map.get("b"));
+        assertNull(map.get("c"));
+        assertNull(map.get(null));
+    }
+
+    @Test
+    void getOrDefault_addsMissing() {
+        BPlusTreeMap<String, List<String>> map = new BPlusTreeMap<>();
+        map.getOrDefault("a", key -> new ArrayList<>()).add("x");
+        map.getOrDefault("a", key -> new ArrayList<>()).add("y");
+
+        assertEquals(List.of("x", "y"), map.get("a"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void constructor_bulkLoadsPairs() {
+        List<KeyValue<Integer, String>> pairs = new ArrayList<>();
+        for (int i = 1_000; i > 0; i--) {
+            pairs.add(new KeyValue<>(i, "v" + i));
+        }
+
+        BPlusTreeMap<Integer, String> map = new BPlusTreeMap<>(pairs);
+        assertEquals(1_000, map.size());
+        for (int i = 1; i <= 1_000; i++) {
+            assertEquals("v" + i, map.get(i));
+        }
+    }
+
+    @Test
+    void range_findNext_findPrevious() {
+        BPlusTreeMap<Integer, String> map = new BPlusTreeMap<>(3);
+        for (int i = 0; i < 100; i += 2) {
+            map.add(i, "v" + i);
+        }
+
+        List<String> values = new ArrayList<>();
+        map.range(10, 15).forEachRemaining(pair -> values.add(pair.value()));
+        assertEquals(List.of("v10", "v12", "v14"), values);
+        assertFalse(map.range(200, 300).hasNext());
+
+        assertEquals(new KeyValue<>(12, "v12"), map.findNext(10));
+        assertEquals("v12", map.findNext(10).value());
+        assertEquals("v8", map.findPrevious(10).value());
+        assertNull(map.findNext(98));
+        assertNull(map.findPrevious(0));
+        assertNull(map.findNext(11));
+        assertNull(map.findNext(null));
+    }
+}
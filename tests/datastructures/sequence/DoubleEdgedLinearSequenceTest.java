@@ -6,6 +6,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.Arrays;
+import java.util.Random;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -18,6 +19,26 @@ class DoubleEdgedLinearSequenceTest extends SequenceTestCase{
         super(DoubleEdgedLinearSequence::new, DoubleEdgedLinearSequence::new, DoubleEdgedLinearSequence::new);
     }
 
+    @Test
+    void stream_fromHeadToTail() {
+        DoubleEdgedLinearSequence<Integer> sequence = new DoubleEdgedLinearSequence<>();
+        for (int i = 0; i < 1_000; i++) {
+            sequence.insertLast(i);
+            sequence.insertFirst(-i - 1);
+        }
+
+        assertEquals(-1_000, sequence.stream().mapToLong(Integer::longValue).sum());
+        assertEquals(-1_000, sequence.parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(-1_000, sequence.stream().findFirst().orElseThrow());
+        assertEquals(2_000, sequence.spliterator().getExactSizeIfKnown());
+
+        int expected = -1_000;
+        for (Integer value : sequence) {
+            assertEquals(expected++, value);
+        }
+        assertEquals(1_000, expected);
+    }
+
     @Test
     void constructDoubleEdgedLinearArray() {
         DoubleEdgedLinearSequence<String> array = new DoubleEdgedLinearSequence<>(5);
@@ -29,6 +50,18 @@ class DoubleEdgedLinearSequenceTest extends SequenceTestCase{
         assertEquals(array.capacity(), 5);
     }
 
+    @Test
+    void constructDoubleEdgedLinearArray_withEmptyArray() {
+        DoubleEdgedLinearSequence<String> array = new DoubleEdgedLinearSequence<>(new String[0]);
+
+        assertEquals(0, array.size());
+        array.insertLast("a");
+        array.insertFirst("b");
+        assertEquals(2, array.size());
+        assertEquals("b", array.first());
+        assertEquals("a", array.last());
+    }
+
     @Test
     void constructDoubleEdgedLinearArray_withArray() {
         DoubleEdgedLinearSequence<String> array = new DoubleEdgedLinearSequence<>(new String[]{"a", "b", "c"});
@@ -438,6 +471,49 @@ class DoubleEdgedLinearSequenceTest extends SequenceTestCase{
         assertEquals(array.tail(), 1);
     }
 
+    @Test
+    void insertAtAndDeleteAt_shiftShorterSide() {
+        DoubleEdgedLinearSequence<Integer> array = new DoubleEdgedLinearSequence<>(16);
+        for (int i = 0; i < 6; i++) {
+            array.insertLast(i);
+        }
+        assertEquals(8, array.head());
+        assertEquals(13, array.tail());
+
+        // near the head, the head moves back
+        array.insertAt(1, 42);
+        assertEquals(7, array.head());
+        assertEquals(13, array.tail());
+
+        // near the tail, the tail moves forward
+        array.insertAt(6, 43);
+        assertEquals(7, array.head());
+        assertEquals(14, array.tail());
+
+        assertEquals(42, array.deleteAt(1));
+        assertEquals(8, array.head());
+        assertEquals(14, array.tail());
+        assertNull(array.array[7]);
+
+        assertEquals(43, array.deleteAt(5));
+        assertEquals(8, array.head());
+        assertEquals(13, array.tail());
+        assertNull(array.array[14]);
+
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i, array.at(i));
+        }
+    }
+
+    @Test
+    void randomOperations_valuesStayBetweenHeadAndTail() {
+        assertSameAsArrayList(new DoubleEdgedLinearSequence<>(1), new Random(20), array -> {
+            if (array.size() > 0) {
+                assertEquals(array.head() + array.size() - 1, array.tail());
+            }
+        });
+    }
+
 
     @ParameterizedTest
     @MethodSource("randomArgumentProvider")
@@ -2,6 +2,7 @@ package datastructures.sequence;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -13,4 +14,32 @@ class LinkedSequenceTest extends SequenceTestCase {
         super(LinkedSequence::new, LinkedSequence::new, LinkedSequence::new);
     }
 
-}
\ No newline at end of file
+    @Test
+    void deleteAt_middleThenDeleteLast() {
+        LinkedSequence<Integer> sequence = new LinkedSequence<>(new Integer[]{1, 2, 3});
+        assertEquals(2, sequence.deleteAt(1));
+        assertEquals(3, sequence.deleteLast());
+        assertEquals(1, sequence.deleteLast());
+        assertEquals(0, sequence.size());
+    }
+
+    @Test
+    void at_indexedScanIsLinear() {
+        LinkedSequence<Integer> sequence = new LinkedSequence<>();
+        for (int i = 0; i < 200_000; i++) {
+            sequence.insertLast(i);
+        }
+
+        // walking from the head every time is 2*10^10 steps, minutes instead of milliseconds
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (int i = 0; i < sequence.size(); i++) {
+                assertEquals(i, sequence.at(i));
+                sequence.set(i, -i);
+            }
+            for (int i = sequence.size() - 1; i >= 0; i--) {
+                assertEquals(-i, sequence.at(i));
+            }
+        });
+    }
+
+}
@@ -0,0 +1,8 @@
+package datastructures.sequence;
+
+class PooledAVLTreeSequenceTest extends SequenceTestCase {
+
+    PooledAVLTreeSequenceTest() {
+        super(PooledAVLTreeSequence::new, PooledAVLTreeSequence::new, PooledAVLTreeSequence::new);
+    }
+}
@@ -4,8 +4,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -217,6 +222,79 @@ abstract class SequenceTestCase {
 
     }
 
+    @ParameterizedTest
+    @ValueSource(longs = {20, 21, 22})
+    void randomOperations_sameAsArrayList(long seed) {
+        assertSameAsArrayList(intArrSupplier.apply(new Integer[0]), new Random(seed), sequence -> {
+        });
+    }
+
+    /**
+     * 20k random inserts, deletes and reads at both ends and in the middle, each one checked against an ArrayList.
+     * The size grows to a few hundred values, then shrinks back and forth. Reads land around the last position
+     * touched, what a finger or a cached node would help with.
+     *
+     * @param invariants checked after every operation, for what only one structure has (node counts, head/tail...)
+     */
+    static <S extends Sequence<Integer>> void assertSameAsArrayList(S sequence, Random random, Consumer<S> invariants) {
+        List<Integer> expected = new ArrayList<>();
+
+        for (int op = 0; op < 20_000; op++) {
+            boolean grow = expected.isEmpty() || random.nextInt(100) < (op / 2_000 % 2 == 0 ? 70 : 30);
+            int pos = random.nextInt(expected.size() + (grow ? 1 : 0));
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    if (grow) {
+                        sequence.insertFirst(op);
+                        expected.add(0, op);
+                    } else {
+                        assertEquals(expected.remove(0), sequence.deleteFirst());
+                    }
+                }
+                case 1 -> {
+                    if (grow) {
+                        sequence.insertLast(op);
+                        expected.add(op);
+                    } else {
+                        assertEquals(expected.remove(expected.size() - 1), sequence.deleteLast());
+                    }
+                }
+                default -> {
+                    if (grow) {
+                        sequence.insertAt(pos, op);
+                        expected.add(pos, op);
+                    } else {
+                        assertEquals(expected.remove(pos), sequence.deleteAt(pos));
+                    }
+                }
+            }
+
+            assertEquals(expected.size(), sequence.size());
+            if (!expected.isEmpty()) {
+                int near = Math.min(Math.max(pos + random.nextInt(5) - 2, 0), expected.size() - 1);
+                assertEquals(expected.get(near), sequence.at(near));
+            }
+            invariants.accept(sequence);
+        }
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), sequence.at(i));
+        }
+        if (sequence instanceof Iterable<?> iterable) {
+            int i = 0;
+            for (Object value : iterable) {
+                assertEquals(expected.get(i++), value);
+            }
+            assertEquals(expected.size(), i);
+        }
+
+        Sequence<Integer> subset = sequence.subset(expected.size() / 4, expected.size() / 2);
+        assertEquals(expected.size() / 2 - expected.size() / 4, subset.size());
+        for (int i = 0; i < subset.size(); i++) {
+            assertEquals(expected.get(expected.size() / 4 + i), subset.at(i));
+        }
+    }
+
     static Stream<Arguments> randomArgumentProvider() {
         int times = 10;
         Arguments[] arguments = new Arguments[times];
@@ -0,0 +1,103 @@
+package datastructures.sequence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnrolledLinkedSequenceTest extends SequenceTestCase {
+
+    UnrolledLinkedSequenceTest() {
+        // tiny nodes, so the common cases split and merge as well
+        super(UnrolledLinkedSequence::new, UnrolledLinkedSequence::new, () -> new UnrolledLinkedSequence<>(2));
+    }
+
+    @Test
+    void constructor_invalidNodeCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new UnrolledLinkedSequence<>(1));
+        assertThrows(IllegalArgumentException.class, () -> new UnrolledLinkedSequence<>((Integer[]) null));
+    }
+
+    @Test
+    void insertFirstAndLast_fillNodes() {
+        UnrolledLinkedSequence<Integer> sequence = new UnrolledLinkedSequence<>(4);
+        for (int i = 0; i < 8; i++) {
+            sequence.insertLast(i);
+            sequence.insertFirst(-i - 1);
+        }
+
+        // the first node ends up with -2..1, the other 6 values on each side take two nodes
+        assertEquals(16, sequence.size());
+        assertEquals(5, sequence.nodeCount());
+        assertEquals(-8, sequence.first());
+        assertEquals(7, sequence.last());
+        for (int i = 0; i < 16; i++) {
+            assertEquals(i - 8, sequence.at(i));
+        }
+        assertEquals("[-8, -7, -6, -5, -4, -3, -2, -1, 0, 1, 2, 3, 4, 5, 6, 7]", sequence.toString());
+    }
+
+    @Test
+    void insertAt_splitsFullNode() {
+        UnrolledLinkedSequence<Integer> sequence = new UnrolledLinkedSequence<>(4);
+        for (int i = 0; i < 4; i++) {
+            sequence.insertLast(i * 10);
+        }
+        assertEquals(1, sequence.nodeCount());
+
+        sequence.insertAt(3, 25);
+        assertEquals(2, sequence.nodeCount());
+        assertEquals("[0, 10, 20, 25, 30]", sequence.toString());
+    }
+
+    @Test
+    void deleteAt_mergesSparseNodes() {
+        UnrolledLinkedSequence<Integer> sequence = new UnrolledLinkedSequence<>(8);
+        for (int i = 0; i < 16; i++) {
+            sequence.insertLast(i);
+        }
+        assertEquals(2, sequence.nodeCount());
+
+        // 8 + 8 down to 2 + 2, both fit in half a node
+        for (int i = 0; i < 6; i++) {
+            sequence.deleteAt(1);
+            sequence.deleteAt(sequence.size() - 2);
+        }
+        assertEquals(1, sequence.nodeCount());
+        assertEquals("[0, 7, 8, 15]", sequence.toString());
+    }
+
+    @Test
+    void deleteFirstAndLast_untilEmpty() {
+        UnrolledLinkedSequence<Integer> sequence = new UnrolledLinkedSequence<>(3);
+        for (int i = 0; i < 10; i++) {
+            sequence.insertLast(i);
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, sequence.deleteFirst());
+            assertEquals(9 - i, sequence.deleteLast());
+        }
+        assertEquals(0, sequence.size());
+        assertEquals(0, sequence.nodeCount());
+        assertNull(sequence.first());
+        assertThrows(IndexOutOfBoundsException.class, sequence::deleteFirst);
+        assertThrows(IndexOutOfBoundsException.class, sequence::deleteLast);
+
+        sequence.insertFirst(1);
+        assertEquals(1, sequence.last());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4, 64})
+    void randomOperations_noEmptyOrOverfullNodes(int nodeCapacity) {
+        assertSameAsArrayList(new UnrolledLinkedSequence<>(nodeCapacity), new Random(nodeCapacity), sequence -> {
+            // empty nodes are unlinked, and no node holds more than its capacity
+            assertTrue(sequence.nodeCount() <= sequence.size());
+            assertTrue(sequence.nodeCount() >= (sequence.size() + nodeCapacity - 1) / nodeCapacity);
+        });
+    }
+}
@@ -2,8 +2,16 @@ package datastructures.set;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
 import static datastructures.tree.AVLTreePrint.printTree;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class AVLTreeSetTest extends SetTestCases {
 
@@ -136,4 +144,91 @@ public class AVLTreeSetTest extends SetTestCases {
             last = set.findPrevious(last);
         }
     }
+
+    @Test
+    void rankSelectAndRange_empty() {
+        AVLTreeSet<Integer> set = new AVLTreeSet<>();
+
+        assertEquals(0, set.rank(1));
+        assertEquals(0, set.countRange(0, 10));
+        assertFalse(set.range(0, 10).hasNext());
+        assertThrows(IndexOutOfBoundsException.class, () -> set.select(0));
+    }
+
+    @Test
+    void rankSelectAndRange() {
+        AVLTreeSet<Integer> set = new AVLTreeSet<>(new Integer[]{10, 20, 30, 40, 50});
+
+        assertEquals(0, set.rank(5));
+        assertEquals(0, set.rank(10));
+        assertEquals(1, set.rank(11));
+        assertEquals(5, set.rank(51));
+
+        assertEquals(10, set.select(0));
+        assertEquals(30, set.select(2));
+        assertEquals(50, set.select(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.select(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.select(5));
+
+        // hi is not in the range
+        assertEquals(2, set.countRange(20, 40));
+        assertEquals(List.of(20, 30), toList(set.range(20, 40)));
+        assertEquals(3, set.countRange(15, 45));
+        assertEquals(List.of(20, 30, 40), toList(set.range(15, 45)));
+        assertEquals(0, set.countRange(40, 20));
+        assertEquals(List.of(), toList(set.range(40, 20)));
+        assertEquals(0, set.countRange(20, 20));
+        assertEquals(List.of(), toList(set.range(51, 100)));
+    }
+
+    @Test
+    void rankSelectAndRange_allowDuplicates() {
+        AVLTreeSet<Integer> set = AVLTreeSet.allowDuplicates();
+        for (int value : new int[]{3, 1, 2, 2, 3, 2}) {
+            set.add(value);
+        }
+
+        assertEquals(0, set.rank(1));
+        assertEquals(1, set.rank(2));
+        assertEquals(4, set.rank(3));
+        assertEquals(2, set.select(3));
+        assertEquals(3, set.countRange(2, 3));
+        assertEquals(List.of(2, 2, 2), toList(set.range(2, 3)));
+    }
+
+    @Test
+    void rankSelectAndRange_sameAsTreeSet() {
+        Random random = new Random(25);
+        AVLTreeSet<Integer> set = new AVLTreeSet<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 2_000; i++) {
+            int value = random.nextInt(5_000);
+            if (random.nextInt(4) == 0) {
+                set.delete(value);
+                expected.remove(value);
+            } else {
+                set.add(value);
+                expected.add(value);
+            }
+        }
+
+        List<Integer> inOrder = new ArrayList<>(expected);
+        for (int k = 0; k < inOrder.size(); k++) {
+            assertEquals(inOrder.get(k), set.select(k));
+        }
+
+        for (int i = 0; i < 500; i++) {
+            int lo = random.nextInt(5_100) - 50;
+            int hi = lo + random.nextInt(1_000);
+            assertEquals(expected.headSet(lo).size(), set.rank(lo));
+            assertEquals(expected.subSet(lo, hi).size(), set.countRange(lo, hi));
+            assertEquals(new ArrayList<>(expected.subSet(lo, hi)), toList(set.range(lo, hi)));
+        }
+    }
+
+    private static <T> List<T> toList(Iterator<T> iterator) {
+        List<T> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
 }
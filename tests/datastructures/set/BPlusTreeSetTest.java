@@ -0,0 +1,134 @@
+package datastructures.set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BPlusTreeSetTest extends SetTestCases {
+
+    protected BPlusTreeSetTest() {
+        // tiny nodes, so the common cases split and merge as well
+        super(
+                values -> new BPlusTreeSet<>(values, 3),
+                size -> new BPlusTreeSet<>(3),
+                () -> new BPlusTreeSet<>(4)
+        );
+    }
+
+    @Test
+    void constructor_invalidFanOut() {
+        assertThrows(IllegalArgumentException.class, () -> new BPlusTreeSet<Integer>(2));
+    }
+
+    @Test
+    void emptySet() {
+        BPlusTreeSet<Integer> set = new BPlusTreeSet<>();
+        assertNull(set.first());
+        assertNull(set.last());
+        assertNull(set.delete(1));
+        assertNull(set.findNext(1));
+        assertFalse(set.iterator().hasNext());
+        assertFalse(set.range(0, 10).hasNext());
+        assertEquals("[]", set.toString());
+    }
+
+    @Test
+    void add_splitsAndGrowsFromTheRoot() {
+        BPlusTreeSet<Integer> set = new BPlusTreeSet<>(4);
+        for (int i = 0; i < 4; i++) {
+            set.add(i);
+        }
+        assertEquals(1, set.height());
+
+        set.add(4);
+        assertEquals(2, set.height());
+
+        for (int i = 5; i < 1_000; i++) {
+            set.add(i);
+        }
+        // at least 2 keys, 3 children, per node below the root
+        assertTrue(set.height() <= 1 + Math.ceil(Math.log(1_000) / Math.log(3)), "height " + set.height());
+        assertEquals(1_000, set.size());
+    }
+
+    @Test
+    void constructor_bulkLoadsSortedAndDeduplicates() {
+        Integer[] values = new Integer[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i / 2;
+        }
+
+        BPlusTreeSet<Integer> set = new BPlusTreeSet<>(values, 8);
+        assertEquals(5_000, set.size());
+        // packed: 625 leaves of 8, then 9 children per inner node, 70 and 8 of them, and the root
+        assertEquals(4, set.height());
+
+        int expected = 0;
+        for (Integer value : set) {
+            assertEquals(expected++, value);
+        }
+
+        // the packed tree splits and merges like any other
+        for (int i = 0; i < 5_000; i += 2) {
+            assertEquals(i, set.delete(i));
+            set.add(-i - 1);
+        }
+        assertEquals(5_000, set.size());
+        assertEquals(-4_999, set.first());
+        assertEquals(4_999, set.last());
+    }
+
+    @Test
+    void range_lazyAndHalfOpen() {
+        BPlusTreeSet<Integer> set = new BPlusTreeSet<>(3);
+        for (int i = 0; i < 100; i += 2) {
+            set.add(i);
+        }
+
+        assertEquals(List.of(10, 12, 14, 16, 18), toList(set.range(10, 20)));
+        assertEquals(List.of(12, 14), toList(set.range(11, 15)));
+        assertEquals(List.of(96, 98), toList(set.range(95, 1_000)));
+        assertEquals(List.of(0, 2), toList(set.range(-10, 3)));
+        assertEquals(List.of(), toList(set.range(50, 50)));
+        assertEquals(List.of(), toList(set.range(200, 300)));
+
+        Iterator<Integer> empty = set.range(13, 14);
+        assertFalse(empty.hasNext());
+        assertThrows(NoSuchElementException.class, empty::next);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 4, 5, 64})
+    void randomOperations_sameAsTreeSet(int fanOut) {
+        Random ranges = new Random(-fanOut);
+        BPlusTreeSet<Integer> set = new BPlusTreeSet<>(fanOut);
+        NavigableSet<Integer> expected = assertSameAsTreeSet(set, new Random(fanOut), (tree, values) -> {
+            // a short range anywhere, over leaves being split and merged
+            int from = ranges.nextInt(3_000);
+            int to = from + ranges.nextInt(20);
+            assertEquals(new ArrayList<>(values.subSet(from, to)), toList(tree.range(from, to)));
+        });
+
+        // down to nothing, the root goes back to a leaf
+        for (Integer value : expected) {
+            assertEquals(value, set.delete(value));
+        }
+        assertEquals(0, set.size());
+        assertEquals(1, set.height());
+    }
+
+    private static List<Integer> toList(Iterator<Integer> iterator) {
+        List<Integer> values = new ArrayList<>();
+        iterator.forEachRemaining(values::add);
+        return values;
+    }
+}
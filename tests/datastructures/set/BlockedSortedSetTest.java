@@ -0,0 +1,86 @@
+package datastructures.set;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlockedSortedSetTest extends SetTestCases {
+
+    protected BlockedSortedSetTest() {
+        // tiny blocks, so every test goes through splits and merges
+        super(
+                values -> new BlockedSortedSet<>(values, 4),
+                size -> new BlockedSortedSet<>(4),
+                () -> new BlockedSortedSet<>(4)
+        );
+    }
+
+    @Test
+    void add_splitsFullBlocks() {
+        BlockedSortedSet<Integer> set = new BlockedSortedSet<>(4);
+        for (int i = 0; i < 100; i++) {
+            set.add(i);
+        }
+
+        // appending leaves half full blocks behind
+        assertEquals(49, set.blockCount());
+        assertEquals(100, set.size());
+        assertEquals(0, set.first());
+        assertEquals(99, set.last());
+    }
+
+    @Test
+    void delete_mergesSparseBlocks() {
+        BlockedSortedSet<Integer> set = new BlockedSortedSet<>(8);
+        for (int i = 0; i < 1_000; i++) {
+            set.add(i);
+        }
+        int blocks = set.blockCount();
+
+        for (int i = 0; i < 1_000; i++) {
+            if (i % 10 != 0) {
+                assertEquals(i, set.delete(i));
+            }
+        }
+
+        assertEquals(100, set.size());
+        assertTrue(set.blockCount() < blocks / 2, set.blockCount() + " of " + blocks);
+        Integer value = set.first();
+        for (int i = 0; i < 1_000; i += 10) {
+            assertEquals(i, value);
+            value = set.findNext(value);
+        }
+        assertNull(value);
+    }
+
+    @Test
+    void constructor_sortsAndDeduplicates() {
+        BlockedSortedSet<Integer> set = new BlockedSortedSet<>(new Integer[]{5, 3, 5, 1, 3, 9, 7, 1, 8}, 2);
+
+        assertEquals(6, set.size());
+        assertEquals("[1, 3, 5, 7, 8, 9]", set.toString());
+        assertEquals(3, set.blockCount());
+        assertEquals(7, set.findNext(5));
+        assertEquals(5, set.findPrevious(7));
+    }
+
+    @Test
+    void randomOperations_sameAsTreeSet() {
+        BlockedSortedSet<Integer> set = new BlockedSortedSet<>(16);
+        NavigableSet<Integer> expected = assertSameAsTreeSet(set, new Random(29), (blocked, values) -> {
+            // no empty block, none over blockSize
+            assertTrue(blocked.blockCount() <= blocked.size());
+            assertTrue(blocked.blockCount() * 16 >= blocked.size());
+        });
+
+        // forEach walks the blocks directly
+        List<Integer> values = new ArrayList<>();
+        set.forEach(values::add);
+        assertEquals(new ArrayList<>(expected), values);
+    }
+}
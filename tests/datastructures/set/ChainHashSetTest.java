@@ -99,4 +99,123 @@ public class ChainHashSetTest extends SetTestCases {
         assertEquals(set.findNext(set.first()), "d");
     }
 
+    /**
+     * Instances with the same hash land in the same bucket
+     */
+    private record Colliding(int id, int hash) implements Comparable<Colliding> {
+        Colliding(int id) {
+            this(id, 42);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Colliding colliding && colliding.id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public int compareTo(Colliding other) {
+            return Integer.compare(id, other.id);
+        }
+    }
+
+    @Test
+    void add_collisionsTreeifyBucket() {
+        ChainHashSet<Colliding> set = ChainHashSet.withTreeBuckets();
+        for (int i = 0; i < 1_000; i++) {
+            set.add(new Colliding(i));
+        }
+        set.add(new Colliding(7));
+
+        assertEquals(1_000, set.size());
+        // no global resize, the colliding bucket became a tree
+        assertEquals(16, set.capacity());
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(new Colliding(i), set.find(new Colliding(i)));
+        }
+        assertFalse(set.contains(new Colliding(1_000)));
+
+        // single bucket, so iteration follows the tree order
+        Colliding next = set.first();
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(new Colliding(i), next);
+            next = set.findNext(next);
+        }
+        assertNull(next);
+        assertEquals(new Colliding(998), set.findPrevious(set.last()));
+
+        int id = 0;
+        for (Colliding value : set) {
+            assertEquals(new Colliding(id++), value);
+        }
+        assertEquals(1_000, id);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(new Colliding(i), set.delete(new Colliding(i)));
+        }
+        assertNull(set.delete(new Colliding(0)));
+        assertEquals(0, set.size());
+        assertNull(set.first());
+    }
+
+    @Test
+    void add_treeBucketsMixedWithChains() {
+        ChainHashSet<Colliding> set = ChainHashSet.withTreeBuckets();
+        java.util.Set<Colliding> expected = new java.util.HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            Colliding colliding = new Colliding(i);
+            Colliding spread = new Colliding(i + 500, i + 500);
+            set.add(colliding);
+            set.add(spread);
+            expected.add(colliding);
+            expected.add(spread);
+        }
+
+        // plain load still grows the table
+        assertTrue(set.capacity() > 16);
+        assertEquals(expected.size(), set.size());
+
+        java.util.Set<Colliding> visited = new java.util.HashSet<>();
+        for (Colliding next = set.first(); next != null; next = set.findNext(next)) {
+            assertTrue(visited.add(next));
+        }
+        assertEquals(expected, visited);
+
+        visited.clear();
+        for (Colliding previous = set.last(); previous != null; previous = set.findPrevious(previous)) {
+            assertTrue(visited.add(previous));
+        }
+        assertEquals(expected, visited);
+    }
+
+    /**
+     * Same hash as {@link Colliding}, but can't be compared
+     */
+    private record Plain(int id) {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    @Test
+    void add_chainWithNonComparableValuesStaysAChain() {
+        ChainHashSet<Object> set = ChainHashSet.withTreeBuckets();
+        for (int i = 0; i < 10; i++) {
+            set.add(new Plain(i));
+        }
+        // a full chain, the new value is Comparable but the ones already there aren't
+        set.add(new Colliding(10));
+
+        assertEquals(11, set.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(new Plain(i), set.find(new Plain(i)));
+        }
+        assertEquals(new Colliding(10), set.find(new Colliding(10)));
+    }
+
 }
@@ -0,0 +1,86 @@
+package datastructures.set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlatChainHashSetTest extends SetTestCases {
+
+    protected FlatChainHashSetTest() {
+        super(FlatChainHashSet::new, FlatChainHashSet::new, FlatChainHashSet::new);
+    }
+
+    @Test
+    void add_growth() {
+        FlatChainHashSet<Integer> set = new FlatChainHashSet<>(2);
+        for (int i = 0; i < 10_000; i++) {
+            set.add(i);
+        }
+
+        assertEquals(16384, set.capacity());
+        assertEquals(10_000, set.size());
+    }
+
+    /**
+     * Entries are kept in insertion order, until a delete moves the last one into the hole
+     */
+    @Override
+    @Test
+    void findLast_findFirst() {
+        FlatChainHashSet<String> set = new FlatChainHashSet<>(new String[]{"b", "d", "a", "c", "f", "e"});
+        assertEquals("b", set.first());
+        assertEquals("e", set.last());
+
+        set.delete("b");
+        assertEquals("e", set.first());
+        assertEquals("f", set.last());
+
+        set.delete("f");
+        assertEquals("e", set.first());
+        assertEquals("c", set.last());
+    }
+
+    @Test
+    void findNext() {
+        FlatChainHashSet<String> set = new FlatChainHashSet<>(new String[]{"b", "d", "a", "c", "f", "e"});
+        String[] expectedSequence = new String[]{"b", "d", "a", "c", "f", "e"};
+
+        String next = set.first();
+        for (String val : expectedSequence) {
+            assertEquals(val, next);
+            next = set.findNext(next);
+        }
+        assertNull(next);
+    }
+
+    @Test
+    void findPrevious() {
+        FlatChainHashSet<String> set = new FlatChainHashSet<>(new String[]{"b", "d", "a", "c", "f", "e"});
+        set.delete("d");
+        String[] expectedSequence = new String[]{"f", "c", "a", "e", "b"};
+
+        String last = set.last();
+        for (String val : expectedSequence) {
+            assertEquals(val, last);
+            last = set.findPrevious(last);
+        }
+        assertNull(last);
+    }
+
+    @Test
+    void collidingKeys() {
+        FlatChainHashSet<Integer> set = new FlatChainHashSet<>(4);
+        for (int i = 0; i < 10_000; i++) {
+            set.add(i << 16);
+        }
+
+        for (int i = 0; i < 10_000; i += 2) {
+            assertEquals(i << 16, set.delete(i << 16));
+        }
+
+        assertEquals(5_000, set.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i % 2 == 1, set.contains(i << 16));
+        }
+    }
+}
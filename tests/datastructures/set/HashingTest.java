@@ -0,0 +1,39 @@
+package datastructures.set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashingTest {
+
+    @Test
+    void tableSizeFor_powerOfTwo() {
+        assertEquals(2, Hashing.tableSizeFor(-1));
+        assertEquals(2, Hashing.tableSizeFor(0));
+        assertEquals(2, Hashing.tableSizeFor(2));
+        assertEquals(4, Hashing.tableSizeFor(3));
+        assertEquals(64, Hashing.tableSizeFor(64));
+        assertEquals(128, Hashing.tableSizeFor(65));
+    }
+
+    @Test
+    void tableSizeFor_cappedAtMaximumCapacity() {
+        // highestOneBit(...) << 1 would overflow to a negative size
+        assertEquals(Hashing.MAXIMUM_CAPACITY, Hashing.tableSizeFor(Hashing.MAXIMUM_CAPACITY));
+        assertEquals(Hashing.MAXIMUM_CAPACITY, Hashing.tableSizeFor(Hashing.MAXIMUM_CAPACITY + 1));
+        assertEquals(Hashing.MAXIMUM_CAPACITY, Hashing.tableSizeFor(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void hash_spreadsSequentialKeys() {
+        // sequential ids land in different low bits, not next to each other
+        int mask = 63;
+        java.util.Set<Integer> slots = new java.util.HashSet<>();
+        for (int i = 0; i < 64; i++) {
+            slots.add(Hashing.hash(i << 16) & mask);
+        }
+        assertTrue(slots.size() > 32);
+
+        assertNotEquals(Hashing.hash(1L << 32), Hashing.hash(2L << 32));
+    }
+}
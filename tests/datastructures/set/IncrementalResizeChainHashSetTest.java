@@ -0,0 +1,101 @@
+package datastructures.set;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalResizeChainHashSetTest extends SetTestCases {
+
+    private static final int MIGRATION_STEP = 4;
+
+    protected IncrementalResizeChainHashSetTest() {
+        super(
+                values -> {
+                    ChainHashSet<String> set = ChainHashSet.withIncrementalResize();
+                    for (String value : values) {
+                        set.add(value);
+                    }
+                    return set;
+                },
+                ChainHashSet::withIncrementalResize,
+                ChainHashSet::withIncrementalResize
+        );
+    }
+
+    @Test
+    void add_migratesBoundedBucketsPerOperation() {
+        ChainHashSet<Integer> set = ChainHashSet.withIncrementalResize(2);
+        int resizes = 0;
+        int maxPending = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int pendingBefore = set.pendingMigration();
+            set.add(i);
+            int pendingAfter = set.pendingMigration();
+
+            if (pendingAfter > pendingBefore) {
+                // a new resize started, nothing was moved yet
+                resizes++;
+                assertEquals(0, pendingBefore);
+            } else {
+                assertTrue(pendingBefore - pendingAfter <= MIGRATION_STEP);
+            }
+            maxPending = Math.max(maxPending, pendingAfter);
+        }
+
+        assertTrue(resizes > 10);
+        // the biggest resize was spread over many operations
+        assertTrue(maxPending > 1_000);
+        assertEquals(100_000, set.size());
+    }
+
+    @Test
+    void find_duringMigration() {
+        ChainHashSet<Integer> set = ChainHashSet.withIncrementalResize(2);
+        int i = 0;
+        while (set.pendingMigration() < 1_000) {
+            set.add(i++);
+        }
+
+        // every value is reachable, wherever it lives
+        int size = i;
+        assertEquals(size, set.size());
+        for (int j = 0; j < size; j++) {
+            assertEquals(j, set.find(j));
+        }
+        // lookups migrate as well
+        assertEquals(0, set.pendingMigration());
+    }
+
+    @Test
+    void findNext_walksBothTables() {
+        ChainHashSet<Integer> set = ChainHashSet.withIncrementalResize(2);
+        int i = 0;
+        while (set.pendingMigration() < 1_000) {
+            set.add(i++);
+        }
+        int pending = set.pendingMigration();
+
+        HashSet<Integer> visited = new HashSet<>();
+        for (Integer next = set.first(); next != null; next = set.findNext(next)) {
+            assertTrue(visited.add(next));
+        }
+        assertEquals(i, visited.size());
+
+        visited.clear();
+        for (Integer previous = set.last(); previous != null; previous = set.findPrevious(previous)) {
+            assertTrue(visited.add(previous));
+        }
+        assertEquals(i, visited.size());
+
+        visited.clear();
+        for (Integer value : set) {
+            assertTrue(visited.add(value));
+        }
+        assertEquals(i, visited.size());
+
+        // walking doesn't migrate
+        assertEquals(pending, set.pendingMigration());
+    }
+}
@@ -0,0 +1,178 @@
+package datastructures.set;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntOpenAddressedHashSetTest {
+
+    @Test
+    void add() {
+        IntOpenAddressedHashSet set = new IntOpenAddressedHashSet(2);
+        set.add(4);
+        set.add(4);
+        assertTrue(set.contains(4));
+        assertEquals(1, set.size());
+
+        set.add(1);
+        set.add(3);
+        set.add(2);
+        assertTrue(set.contains(1));
+        assertTrue(set.contains(2));
+        assertTrue(set.contains(3));
+        assertTrue(set.contains(4));
+        assertFalse(set.contains(5));
+        assertEquals(4, set.size());
+    }
+
+    @Test
+    void delete() {
+        IntOpenAddressedHashSet set = new IntOpenAddressedHashSet(new int[]{2, 4, 1, 3, 6, 5});
+        assertEquals(6, set.size());
+
+        assertFalse(set.delete(8));
+        assertEquals(6, set.size());
+
+        assertTrue(set.delete(4));
+        assertFalse(set.delete(4));
+        assertFalse(set.contains(4));
+        assertEquals(5, set.size());
+
+        for (int value : new int[]{1, 2, 3, 5, 6}) {
+            assertTrue(set.delete(value));
+        }
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void sentinelValuesAreKeys() {
+        IntOpenAddressedHashSet set = new IntOpenAddressedHashSet(4, -1);
+        assertFalse(set.contains(0));
+        assertFalse(set.contains(Integer.MIN_VALUE));
+
+        set.add(0);
+        set.add(Integer.MIN_VALUE);
+        set.add(7);
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(Integer.MIN_VALUE));
+        assertEquals(3, set.size());
+
+        assertEquals(0, set.first());
+        assertEquals(Integer.MIN_VALUE, set.findNext(0));
+        assertEquals(7, set.findNext(Integer.MIN_VALUE));
+        assertEquals(-1, set.findNext(7));
+        assertEquals(7, set.last());
+        assertEquals(Integer.MIN_VALUE, set.findPrevious(7));
+        assertEquals(0, set.findPrevious(Integer.MIN_VALUE));
+        assertEquals(-1, set.findPrevious(0));
+
+        assertTrue(set.delete(0));
+        assertEquals(Integer.MIN_VALUE, set.first());
+        assertTrue(set.delete(Integer.MIN_VALUE));
+        assertEquals(7, set.first());
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void emptySet() {
+        IntOpenAddressedHashSet set = new IntOpenAddressedHashSet();
+        assertEquals(set.missing(), set.first());
+        assertEquals(set.missing(), set.last());
+        assertEquals(set.missing(), set.findNext(1));
+        assertEquals(set.missing(), set.findPrevious(1));
+    }
+
+    @Test
+    void findNext_visitsEveryValueOnce() {
+        IntOpenAddressedHashSet set = new IntOpenAddressedHashSet(2, -1);
+        for (int i = 0; i < 1000; i++) {
+            set.add(i);
+        }
+
+        HashSet<Integer> seen = new HashSet<>();
+        int next = set.first();
+        while (next != -1) {
+            assertTrue(seen.add(next));
+            next = set.findNext(next);
+        }
+        assertEquals(1000, seen.size());
+
+        seen.clear();
+        int previous = set.last();
+        while (previous != -1) {
+            assertTrue(seen.add(previous));
+            previous = set.findPrevious(previous);
+        }
+        assertEquals(1000, seen.size());
+    }
+
+    @Test
+    void add_growth() {
+        IntOpenAddressedHashSet set = new IntOpenAddressedHashSet(2);
+        for (int i = 0; i < 10_000; i++) {
+            set.add(i);
+        }
+
+        assertEquals(16384, set.capacity());
+        assertEquals(10_000, set.size());
+    }
+
+    @Test
+    void delete_thumbStonesDoNotGrowTable() {
+        IntOpenAddressedHashSet set = new IntOpenAddressedHashSet(64);
+        for (int i = 1; i < 100_000; i++) {
+            set.add(i);
+            set.delete(i);
+        }
+
+        assertEquals(64, set.capacity());
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void randomOperationsMatchHashSet() {
+        IntOpenAddressedHashSet set = new IntOpenAddressedHashSet(2);
+        SetTestCases.assertSameAsHashSet(new Random(7), value -> value - 2_500,
+                value -> set.add((int) value), value -> set.delete((int) value),
+                value -> set.contains((int) value), set::size);
+    }
+
+    @Test
+    void missingIsAKey_toldApartWithIsEmptyAndHasNext() {
+        IntOpenAddressedHashSet empty = new IntOpenAddressedHashSet();
+        IntOpenAddressedHashSet onlyMissing = new IntOpenAddressedHashSet();
+        onlyMissing.add(Integer.MIN_VALUE);
+
+        // same answer for "nothing" and for the key
+        assertEquals(empty.first(), onlyMissing.first());
+        assertTrue(empty.isEmpty());
+        assertFalse(onlyMissing.isEmpty());
+
+        IntOpenAddressedHashSet set = new IntOpenAddressedHashSet();
+        set.add(5);
+        set.add(Integer.MIN_VALUE);
+        set.add(0);
+        // flagged keys come first: 0, MIN_VALUE, 5
+        assertEquals(Integer.MIN_VALUE, set.findNext(0));
+        assertTrue(set.hasNext(0));
+        assertEquals(Integer.MIN_VALUE, set.findPrevious(5));
+        assertTrue(set.hasPrevious(5));
+        assertEquals(Integer.MIN_VALUE, set.findNext(5));
+        assertFalse(set.hasNext(5));
+        assertFalse(set.hasPrevious(0));
+        assertTrue(set.hasNext(Integer.MIN_VALUE));
+        assertTrue(set.hasPrevious(Integer.MIN_VALUE));
+        assertFalse(set.hasNext(6));
+        assertFalse(set.hasPrevious(6));
+
+        set.delete(0);
+        assertFalse(set.hasPrevious(Integer.MIN_VALUE));
+        set.delete(5);
+        assertFalse(set.hasNext(Integer.MIN_VALUE));
+        assertEquals(Integer.MIN_VALUE, set.last());
+        assertFalse(set.isEmpty());
+    }
+}
@@ -0,0 +1,83 @@
+package datastructures.set;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongOpenAddressedHashSetTest {
+
+    @Test
+    void addAndDelete() {
+        LongOpenAddressedHashSet set = new LongOpenAddressedHashSet(new long[]{1L << 40, 2L << 40, 3});
+        assertTrue(set.contains(1L << 40));
+        assertTrue(set.contains(2L << 40));
+        assertTrue(set.contains(3));
+        assertFalse(set.contains(1));
+        assertEquals(3, set.size());
+
+        assertTrue(set.delete(1L << 40));
+        assertFalse(set.contains(1L << 40));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    void sentinelValuesAreKeys() {
+        LongOpenAddressedHashSet set = new LongOpenAddressedHashSet(4, -1);
+        set.add(0);
+        set.add(Long.MIN_VALUE);
+        set.add(7);
+
+        assertEquals(0, set.first());
+        assertEquals(Long.MIN_VALUE, set.findNext(0));
+        assertEquals(7, set.findNext(Long.MIN_VALUE));
+        assertEquals(-1, set.findNext(7));
+        assertEquals(7, set.last());
+        assertEquals(Long.MIN_VALUE, set.findPrevious(7));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    void randomOperationsMatchHashSet() {
+        LongOpenAddressedHashSet set = new LongOpenAddressedHashSet(2);
+        SetTestCases.assertSameAsHashSet(new Random(7), value -> (value - 2_500L) << 32,
+                set::add, set::delete, set::contains, set::size);
+    }
+
+    @Test
+    void missingIsAKey_toldApartWithIsEmptyAndHasNext() {
+        LongOpenAddressedHashSet empty = new LongOpenAddressedHashSet();
+        LongOpenAddressedHashSet onlyMissing = new LongOpenAddressedHashSet();
+        onlyMissing.add(Long.MIN_VALUE);
+
+        // same answer for "nothing" and for the key
+        assertEquals(empty.first(), onlyMissing.first());
+        assertTrue(empty.isEmpty());
+        assertFalse(onlyMissing.isEmpty());
+
+        LongOpenAddressedHashSet set = new LongOpenAddressedHashSet();
+        set.add(5);
+        set.add(Long.MIN_VALUE);
+        set.add(0);
+        // flagged keys come first: 0, MIN_VALUE, 5
+        assertEquals(Long.MIN_VALUE, set.findNext(0));
+        assertTrue(set.hasNext(0));
+        assertEquals(Long.MIN_VALUE, set.findPrevious(5));
+        assertTrue(set.hasPrevious(5));
+        assertEquals(Long.MIN_VALUE, set.findNext(5));
+        assertFalse(set.hasNext(5));
+        assertFalse(set.hasPrevious(0));
+        assertTrue(set.hasNext(Long.MIN_VALUE));
+        assertTrue(set.hasPrevious(Long.MIN_VALUE));
+        assertFalse(set.hasNext(6));
+        assertFalse(set.hasPrevious(6));
+
+        set.delete(0);
+        assertFalse(set.hasPrevious(Long.MIN_VALUE));
+        set.delete(5);
+        assertFalse(set.hasNext(Long.MIN_VALUE));
+        assertEquals(Long.MIN_VALUE, set.last());
+        assertFalse(set.isEmpty());
+    }
+}
@@ -42,6 +42,74 @@ public class OpenAddressedHashSetTest extends SetTestCases {
     }
 
 
+    @Test
+    void add_growsAtMaxLoadFactor() {
+        OpenAddressedHashSet<Integer> set = new OpenAddressedHashSet<>(64, OpenAddressedHashSet.Probing.QUADRATIC, 0.5f);
+        for (int i = 0; i < 32; i++) {
+            set.add(i);
+        }
+        assertEquals(64, set.capacity());
+        assertEquals(0, set.resizes());
+
+        set.add(32);
+        assertEquals(128, set.capacity());
+        assertEquals(1, set.resizes());
+        assertTrue(set.loadFactor() <= 0.5f);
+        for (int i = 0; i <= 32; i++) {
+            assertTrue(set.contains(i));
+        }
+    }
+
+    @Test
+    void invalidMaxLoadFactor() {
+        assertThrows(IllegalArgumentException.class, () -> new OpenAddressedHashSet<>(64, OpenAddressedHashSet.Probing.QUADRATIC, 0f));
+        assertThrows(IllegalArgumentException.class, () -> new OpenAddressedHashSet<>(64, OpenAddressedHashSet.Probing.QUADRATIC, 1.5f));
+    }
+
+    @Test
+    void delete_compactsThumbStones() {
+        OpenAddressedHashSet<Integer> set = new OpenAddressedHashSet<>(64);
+        for (int i = 0; i < 100_000; i++) {
+            set.add(i);
+            set.delete(i);
+        }
+
+        assertEquals(0, set.size());
+        assertEquals(64, set.capacity());
+        assertTrue(set.compactions() > 0);
+        assertTrue(set.thumbStones() < 64);
+    }
+
+    @Test
+    void add_afterDeleteDoesNotDuplicate() {
+        OpenAddressedHashSet<Integer> set = new OpenAddressedHashSet<>(8);
+        // same slot, second one is probed further
+        set.add(1);
+        set.add(9);
+        set.delete(1);
+
+        set.add(9);
+        assertEquals(1, set.size());
+        set.delete(9);
+        assertFalse(set.contains(9));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void add_probedValueNotDuplicated() {
+        OpenAddressedHashSet<Integer> set = new OpenAddressedHashSet<>(64);
+        // same hashed slot, 64 is a probe further
+        set.add(0);
+        set.add(64);
+        set.add(64);
+        set.add(64);
+
+        assertEquals(2, set.size());
+        set.delete(64);
+        assertFalse(set.contains(64));
+        assertEquals(1, set.size());
+    }
+
     @Test
     void findLast_findFirst() {
         OpenAddressedHashSet<String> set = new OpenAddressedHashSet<>(new String[]{"b", "d", "a", "c", "f", "e"});
@@ -0,0 +1,45 @@
+package datastructures.set;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PooledAVLTreeSetTest extends SetTestCases {
+
+    protected PooledAVLTreeSetTest() {
+        super(
+                PooledAVLTreeSet::new,
+                PooledAVLTreeSet::new,
+                PooledAVLTreeSet::new
+        );
+    }
+
+    @Test
+    void emptySet() {
+        PooledAVLTreeSet<Integer> set = new PooledAVLTreeSet<>();
+        assertNull(set.first());
+        assertNull(set.last());
+        assertNull(set.delete(1));
+        assertNull(set.findNext(1));
+        assertFalse(set.iterator().hasNext());
+    }
+
+    @Test
+    void add_keepsValueAlreadyThere() {
+        PooledAVLTreeSet<String> set = new PooledAVLTreeSet<>();
+        String first = new String("a");
+        set.add(first);
+        set.add(new String("a"));
+
+        assertEquals(1, set.size());
+        assertSame(first, set.find("a"));
+    }
+
+    @Test
+    void randomOperations_sameAsTreeSet() {
+        assertSameAsTreeSet(new PooledAVLTreeSet<>(), new Random(23), (set, values) -> {
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package datastructures.set;
+
+import datastructures.set.OpenAddressedHashSet.Probing;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RobinHoodOpenAddressedHashSetTest extends SetTestCases {
+
+    protected RobinHoodOpenAddressedHashSetTest() {
+        super(
+                values -> new OpenAddressedHashSet<>(values, Probing.ROBIN_HOOD),
+                size -> new OpenAddressedHashSet<>(size, Probing.ROBIN_HOOD),
+                OpenAddressedHashSet::robinHood
+        );
+    }
+
+    @Test
+    void add_growth() {
+        OpenAddressedHashSet<Integer> set = new OpenAddressedHashSet<>(2, Probing.ROBIN_HOOD);
+        for (int i = 0; i < 10_000; i++) {
+            set.add(i);
+        }
+
+        assertEquals(16384, set.capacity());
+        assertEquals(10_000, set.size());
+
+        // no clustering, a few more values don't force growth
+        for (int i = 0; i < 241; i++) {
+            set.add(i * -1);
+        }
+
+        assertEquals(16384, set.capacity());
+        assertEquals(10_240, set.size());
+    }
+
+    /**
+     * Order follows the hash, only checks first and last are the edges of the walk
+     */
+    @Override
+    @Test
+    void findLast_findFirst() {
+        OpenAddressedHashSet<String> set = new OpenAddressedHashSet<>(new String[]{"b", "d", "a", "c", "f", "e"}, Probing.ROBIN_HOOD);
+        assertNull(set.findPrevious(set.first()));
+        assertNull(set.findNext(set.last()));
+
+        set.delete(set.first());
+        set.delete(set.last());
+
+        assertEquals(4, set.size());
+        assertNull(set.findPrevious(set.first()));
+        assertNull(set.findNext(set.last()));
+    }
+
+    @Test
+    void delete_heavyWorkloadDoesNotGrow() {
+        OpenAddressedHashSet<Integer> set = new OpenAddressedHashSet<>(64, Probing.ROBIN_HOOD);
+        for (int i = 0; i < 100_000; i++) {
+            set.add(i);
+            set.delete(i);
+        }
+
+        assertEquals(64, set.capacity());
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void adversarialKeys() {
+        // all of them are the same `hash % length` for any length up to 2^16
+        OpenAddressedHashSet<Integer> set = OpenAddressedHashSet.robinHood();
+        for (int i = 0; i < 10_000; i++) {
+            set.add(i << 16);
+        }
+
+        assertEquals(10_000, set.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(set.contains(i << 16));
+            assertFalse(set.contains((i << 16) + 1));
+        }
+    }
+}
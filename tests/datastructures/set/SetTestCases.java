@@ -6,12 +6,27 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -89,6 +104,16 @@ public abstract class SetTestCases {
     }
 
 
+    @Test
+    void delete_missingReturnsNull() {
+        Set<String> set = stringArraySupplier.apply(new String[]{"b", "d", "a"});
+
+        assertNull(set.delete("h"));
+        assertEquals("a", set.delete("a"));
+        assertNull(set.delete("a"));
+        assertEquals(2, set.size());
+    }
+
     @Test
     void delete() {
         Set<String> set = stringArraySupplier.apply(new String[]{"b", "d", "a", "c", "f", "e"});
@@ -183,6 +208,186 @@ public abstract class SetTestCases {
         assertEquals(set.size(), input.length);
     }
 
+    @ParameterizedTest
+    @MethodSource("outOfOrderArgumentsProvider")
+    void iterator_sameOrderAsFindNext(Integer[] input) {
+        Set<Integer> set = defaultSupplier.get();
+        for (Integer value : input) {
+            set.add(value);
+        }
+        if (input.length > 1) {
+            set.delete(input[0]);
+        }
+
+        Iterator<Integer> iterator = set.iterator();
+        Integer val = set.first();
+        while (val != null) {
+            assertTrue(iterator.hasNext());
+            assertEquals(val, iterator.next());
+            val = set.findNext(val);
+        }
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+
+        List<Integer> forEach = new ArrayList<>();
+        set.forEach(forEach::add);
+        List<Integer> iterated = new ArrayList<>();
+        for (Integer value : set) {
+            iterated.add(value);
+        }
+        assertEquals(iterated, forEach);
+
+        Spliterator<Integer> spliterator = set.spliterator();
+        assertEquals(set.size(), spliterator.getExactSizeIfKnown());
+        assertEquals(iterated, StreamSupport.stream(spliterator, false).toList());
+    }
+
+    @Test
+    void iterator_empty() {
+        Set<Integer> set = defaultSupplier.get();
+        assertFalse(set.iterator().hasNext());
+        assertThrows(NoSuchElementException.class, () -> set.iterator().next());
+        assertEquals(0, set.spliterator().getExactSizeIfKnown());
+    }
+
+    @Test
+    void parallelStream_sameAsSequential() {
+        Set<Integer> set = defaultSupplier.get();
+        for (Integer value : generateArray(10_000)) {
+            set.add(value);
+        }
+
+        long expected = 10_000L * 9_999 / 2;
+        assertEquals(expected, set.stream().mapToLong(Integer::longValue).sum());
+        assertEquals(expected, set.parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(5_000, set.parallelStream().filter(value -> value % 2 == 0).count());
+    }
+
+    @Test
+    void spliterator_splitsCoverEverythingOnce() {
+        Set<Integer> set = defaultSupplier.get();
+        for (Integer value : generateArray(5_000)) {
+            set.add(value);
+        }
+
+        List<Integer> seen = new ArrayList<>();
+        splitAll(set.spliterator(), seen);
+        assertEquals(5_000, seen.size());
+        assertEquals(5_000, new java.util.HashSet<>(seen).size());
+    }
+
+    private static void splitAll(Spliterator<Integer> spliterator, List<Integer> seen) {
+        long size = spliterator.getExactSizeIfKnown();
+        int before = seen.size();
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        if (prefix != null) {
+            splitAll(prefix, seen);
+        }
+
+        spliterator.forEachRemaining(seen::add);
+        if (size != -1) {
+            assertEquals(size, seen.size() - before);
+        }
+    }
+
+    @Test
+    void randomOperations_sameAsHashSet() {
+        assertSameAsHashSet(defaultSupplier.get(), new Random(7), set -> {
+        });
+    }
+
+    /**
+     * 200k random adds, deletes and finds over 5k values, each one checked against a HashSet.
+     * Values come back often, so deletes hit thumbstones, emptied chains or blocks as much as adds do.
+     *
+     * @param invariants checked after every operation, for what only one structure has (height, block count...)
+     */
+    static <S extends Set<Integer>> void assertSameAsHashSet(S set, Random random, Consumer<S> invariants) {
+        HashSet<Integer> expected = new HashSet<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            int value = random.nextInt(5_000);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    set.add(value);
+                    expected.add(value);
+                }
+                case 1 -> assertEquals(expected.remove(value) ? value : null, set.delete(value));
+                default -> assertEquals(expected.contains(value), set.contains(value));
+            }
+            assertEquals(expected.size(), set.size());
+            invariants.accept(set);
+        }
+
+        for (int value = 0; value < 5_000; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+
+    /**
+     * assertSameAsHashSet for the primitive sets, which are not a Set.
+     *
+     * @param key maps the random value to the key used, to spread it over bits the hash has to mix
+     */
+    static void assertSameAsHashSet(Random random, IntToLongFunction key, LongConsumer add, LongPredicate delete,
+                                    LongPredicate contains, IntSupplier size) {
+        HashSet<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            long value = key.applyAsLong(random.nextInt(5_000));
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    add.accept(value);
+                    expected.add(value);
+                }
+                case 1 -> assertEquals(expected.remove(value), delete.test(value));
+                default -> assertEquals(expected.contains(value), contains.test(value));
+            }
+            assertEquals(expected.size(), size.getAsInt());
+        }
+
+        for (int value = 0; value < 5_000; value++) {
+            long k = key.applyAsLong(value);
+            assertEquals(expected.contains(k), contains.test(k));
+        }
+    }
+
+    /**
+     * 50k random adds and deletes over 3k values, checked against a TreeSet, for the sorted sets.
+     * The size grows to over a thousand values, then shrinks back and forth, so nodes and blocks split and merge.
+     * Neighbours of the touched value are checked with findNext/findPrevious, the whole order at the end.
+     *
+     * @param invariants checked after every operation with the expected values, for what only one structure has
+     * @return the expected values, to take the set further down
+     */
+    static <S extends Set<Integer>> NavigableSet<Integer> assertSameAsTreeSet(S set, Random random,
+                                                                            BiConsumer<S, NavigableSet<Integer>> invariants) {
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int op = 0; op < 50_000; op++) {
+            int value = random.nextInt(3_000);
+            boolean grow = random.nextInt(100) < (op / 5_000 % 2 == 0 ? 70 : 30);
+            if (grow) {
+                set.add(value);
+                expected.add(value);
+            } else {
+                assertEquals(expected.remove(value) ? value : null, set.delete(value));
+            }
+
+            assertEquals(expected.size(), set.size());
+            assertEquals(expected.contains(value), set.contains(value));
+            if (expected.contains(value)) {
+                assertEquals(expected.higher(value), set.findNext(value));
+                assertEquals(expected.lower(value), set.findPrevious(value));
+            }
+            invariants.accept(set, expected);
+        }
+
+        assertEquals(expected.isEmpty() ? null : expected.first(), set.first());
+        assertEquals(expected.isEmpty() ? null : expected.last(), set.last());
+        assertArrayEquals(expected.toArray(), set.stream().toArray());
+        return expected;
+    }
 
     static Stream<Arguments> outOfOrderArgumentsProvider() {
         int[] sizes = new int[]{1, 100, 200, 300, 400, 500, 600, 700, 800, 900, 1000};
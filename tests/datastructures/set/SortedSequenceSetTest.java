@@ -4,9 +4,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.TreeSet;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -17,6 +21,140 @@ public class SortedSequenceSetTest extends SetTestCases {
         super(SortedSequenceSet::new, SortedSequenceSet::new, SortedSequenceSet::new);
     }
     
+    @Test
+    void indexesOf_sortedAndShuffledBatches() {
+        Random random = new Random(23);
+        Integer[] values = new Integer[5_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 3 * i;
+        }
+        SortedSequenceSet<Integer> set = new SortedSequenceSet<>(values);
+
+        // hits, misses and both ends
+        Integer[] probes = new Integer[2_003];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = random.nextInt(3 * values.length + 10) - 5;
+        }
+        Integer[] sorted = probes.clone();
+        Arrays.sort(sorted);
+
+        for (Integer[] batch : new Integer[][]{probes, sorted}) {
+            int[] indexes = set.indexesOf(batch);
+            for (int i = 0; i < batch.length; i++) {
+                int expected = batch[i] >= 0 && batch[i] % 3 == 0 && batch[i] < 3 * values.length ? batch[i] / 3 : -1;
+                assertEquals(expected, indexes[i]);
+                if (expected >= 0) {
+                    assertEquals(batch[i], set.at(indexes[i]));
+                }
+            }
+        }
+
+        assertEquals(0, new SortedSequenceSet<Integer>().indexesOf(new Integer[0]).length);
+        assertArrayEquals(new int[]{-1, -1}, new SortedSequenceSet<Integer>().indexesOf(new Integer[]{1, 2}));
+    }
+
+    @Test
+    void constructor_deduplicates() {
+        SortedSequenceSet<Integer> set = new SortedSequenceSet<>(new Integer[]{3, 1, 3, 2, 1});
+
+        assertEquals(3, set.size());
+        assertEquals("[1, 2, 3]", set.toString());
+    }
+
+    @Test
+    void constructor_nullOrEmpty() {
+        SortedSequenceSet<Integer> fromNull = new SortedSequenceSet<>((Integer[]) null);
+        SortedSequenceSet<Integer> fromEmpty = new SortedSequenceSet<>(new Integer[0]);
+
+        for (SortedSequenceSet<Integer> set : List.of(fromNull, fromEmpty)) {
+            assertEquals(0, set.size());
+            assertFalse(set.contains(1));
+            set.add(1);
+            set.addAll(new Integer[]{2, 0});
+            set.addAll((Integer[]) null);
+            assertEquals("[0, 1, 2]", set.toString());
+        }
+    }
+
+    @Test
+    void addAll_sortedAndUnsorted() {
+        SortedSequenceSet<Integer> set = new SortedSequenceSet<>(new Integer[]{2, 4, 6, 8});
+
+        set.addAll(new Integer[]{1, 2, 3, 9});
+        assertEquals("[1, 2, 3, 4, 6, 8, 9]", set.toString());
+
+        set.addAll(new Integer[]{7, 5, 7, 0});
+        assertEquals("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9]", set.toString());
+
+        set.addAll(new ChainHashSet<>(new Integer[]{10, -1, 5}));
+        set.addAll(new AVLTreeSet<>(new Integer[]{12, 11}));
+        assertEquals("[-1, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12]", set.toString());
+        assertEquals(14, set.size());
+        assertTrue(set.contains(11));
+
+        SortedSequenceSet<Integer> empty = new SortedSequenceSet<>();
+        empty.addAll(new Integer[0]);
+        assertEquals(0, empty.size());
+        empty.addAll(new Integer[]{2, 1});
+        assertEquals("[1, 2]", empty.toString());
+    }
+
+    private record Versioned(int key, int version) implements Comparable<Versioned> {
+        @Override
+        public int compareTo(Versioned other) {
+            return Integer.compare(key, other.key);
+        }
+    }
+
+    @Test
+    void addAll_replacesEqualValues() {
+        SortedSequenceSet<Versioned> set = new SortedSequenceSet<>(new Versioned[]{new Versioned(1, 0), new Versioned(2, 0)});
+
+        set.addAll(new Versioned[]{new Versioned(2, 1), new Versioned(2, 2), new Versioned(3, 1)});
+        assertEquals(new Versioned(1, 0), set.at(0));
+        assertEquals(2, set.at(1).version());
+        assertEquals(3, set.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 10, 1_000, 200_000})
+    void setOperations_sameAsTreeSet(int size) {
+        // large sizes go through the parallel merge
+        Random random = new Random(size);
+        Integer[] left = new Integer[size];
+        Integer[] right = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            left[i] = random.nextInt(2 * size + 1);
+            right[i] = random.nextInt(2 * size + 1);
+        }
+        SortedSequenceSet<Integer> leftSet = new SortedSequenceSet<>(left);
+        SortedSequenceSet<Integer> rightSet = new SortedSequenceSet<>(right);
+        TreeSet<Integer> leftTree = new TreeSet<>(Arrays.asList(left));
+        TreeSet<Integer> rightTree = new TreeSet<>(Arrays.asList(right));
+
+        TreeSet<Integer> union = new TreeSet<>(leftTree);
+        union.addAll(rightTree);
+        TreeSet<Integer> intersection = new TreeSet<>(leftTree);
+        intersection.retainAll(rightTree);
+        TreeSet<Integer> difference = new TreeSet<>(leftTree);
+        difference.removeAll(rightTree);
+
+        assertEquals(new ArrayList<>(union), toList(leftSet.union(rightSet)));
+        assertEquals(new ArrayList<>(intersection), toList(leftSet.intersection(rightSet)));
+        assertEquals(new ArrayList<>(difference), toList(leftSet.difference(rightSet)));
+        // other sets go through their iterator
+        assertEquals(new ArrayList<>(difference), toList(leftSet.difference(new ChainHashSet<>(right))));
+
+        leftSet.addAll(rightSet);
+        assertEquals(new ArrayList<>(union), toList(leftSet));
+    }
+
+    private static List<Integer> toList(Set<Integer> set) {
+        List<Integer> values = new ArrayList<>();
+        set.forEach(values::add);
+        return values;
+    }
+
     @Test
     void findPrevious() {
         SortedSequenceSet<String> set = new SortedSequenceSet<>(new String[]{"b", "d", "a", "c", "f", "e"});
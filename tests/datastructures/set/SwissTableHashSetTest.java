@@ -0,0 +1,80 @@
+package datastructures.set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SwissTableHashSetTest extends SetTestCases {
+
+    protected SwissTableHashSetTest() {
+        super(SwissTableHashSet::new, SwissTableHashSet::new, SwissTableHashSet::new);
+    }
+
+    @Test
+    void add_growth() {
+        SwissTableHashSet<Integer> set = new SwissTableHashSet<>(2);
+        assertEquals(8, set.capacity());
+
+        for (int i = 0; i < 10_000; i++) {
+            set.add(i);
+        }
+
+        assertEquals(16384, set.capacity());
+        assertEquals(10_000, set.size());
+    }
+
+    /**
+     * Order follows the hash, only checks first and last are the edges of the walk
+     */
+    @Override
+    @Test
+    void findLast_findFirst() {
+        SwissTableHashSet<String> set = new SwissTableHashSet<>(new String[]{"b", "d", "a", "c", "f", "e"});
+        assertNull(set.findPrevious(set.first()));
+        assertNull(set.findNext(set.last()));
+
+        set.delete(set.first());
+        set.delete(set.last());
+
+        assertEquals(4, set.size());
+        assertNull(set.findPrevious(set.first()));
+        assertNull(set.findNext(set.last()));
+    }
+
+    @Test
+    void find_returnsStoredInstance() {
+        SwissTableHashSet<String> set = new SwissTableHashSet<>();
+        String stored = new String("key");
+        set.add(stored);
+
+        assertSame(stored, set.find(new String("key")));
+        assertNull(set.find("other"));
+        assertNull(set.find(null));
+    }
+
+    @Test
+    void delete_heavyWorkloadDoesNotGrow() {
+        SwissTableHashSet<Integer> set = new SwissTableHashSet<>(64);
+        for (int i = 0; i < 100_000; i++) {
+            set.add(i);
+            set.delete(i);
+        }
+
+        assertEquals(64, set.capacity());
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void adversarialKeys() {
+        SwissTableHashSet<Integer> set = new SwissTableHashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            set.add(i << 16);
+        }
+
+        assertEquals(10_000, set.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(set.contains(i << 16));
+            assertFalse(set.contains((i << 16) + 1));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package datastructures.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static datastructures.tree.PooledAVLTree.NIL;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledAVLTreeTest {
+
+    @Test
+    void empty() {
+        PooledAVLTree<String> tree = new PooledAVLTree<>();
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.height());
+        assertEquals(NIL, tree.first());
+        assertEquals(NIL, tree.last());
+        assertNull(tree.value(tree.first()));
+        assertEquals("", tree.transversalOrder());
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.at(0));
+    }
+
+    @Test
+    void insertFirst() {
+        PooledAVLTree<Character> tree = new PooledAVLTree<>();
+        for (char c : "abcdfghijklmn".toCharArray()) {
+            tree.insertFirst(c);
+        }
+
+        // same shape as the object AVLTree
+        assertEquals("n,m,l,k,j,i,h,g,f,d,c,b,a", tree.transversalOrder());
+        assertEquals(13, tree.size());
+        assertEquals(4, tree.height());
+        assertBalanced(tree);
+    }
+
+    @Test
+    void insertBeforeAndAfter() {
+        PooledAVLTree<String> tree = new PooledAVLTree<>();
+        int c = tree.insertLast("c");
+        tree.insertBefore(c, "a");
+        tree.insertAfter(c, "e");
+        tree.insertAfter(tree.at(0), "b");
+        tree.insertBefore(tree.at(3), "d");
+
+        assertEquals("a,b,c,d,e", tree.transversalOrder());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(String.valueOf((char) ('a' + i)), tree.value(tree.at(i)));
+        }
+        assertBalanced(tree);
+    }
+
+    @Test
+    void delete_reusesFreedNodes() {
+        PooledAVLTree<Integer> tree = new PooledAVLTree<>(4);
+        for (int i = 0; i < 1_000; i++) {
+            tree.insertLast(i);
+        }
+        int capacity = tree.capacity();
+
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i * 2, tree.delete(tree.at(i)));
+        }
+        assertEquals(500, tree.size());
+        assertBalanced(tree);
+
+        // freed nodes come back before the pool grows
+        for (int i = 0; i < 500; i++) {
+            tree.insertFirst(-i);
+        }
+        assertEquals(capacity, tree.capacity());
+        assertEquals(1_000, tree.size());
+        assertBalanced(tree);
+    }
+
+    @Test
+    void insertBeforeAndAfterNodes_staysBalanced() {
+        Random random = new Random(23);
+        PooledAVLTree<Integer> tree = new PooledAVLTree<>();
+        List<Integer> expected = new ArrayList<>();
+
+        for (int i = 0; i < 2_000; i++) {
+            int pos = random.nextInt(expected.size() + 1);
+            int inserted;
+            if (expected.isEmpty()) {
+                inserted = tree.insertFirst(i);
+            } else if (pos < expected.size() && (pos == 0 || random.nextBoolean())) {
+                inserted = tree.insertBefore(tree.at(pos), i);
+            } else {
+                inserted = tree.insertAfter(tree.at(pos - 1), i);
+            }
+            // rotations move nodes around, never values
+            assertEquals(inserted, tree.at(pos));
+            assertEquals(i, tree.value(inserted));
+            expected.add(pos, i);
+        }
+        assertBalanced(tree);
+
+        while (expected.size() > 500) {
+            int pos = random.nextInt(expected.size());
+            assertEquals(expected.remove(pos), tree.delete(tree.at(pos)));
+        }
+        assertBalanced(tree);
+
+        int i = 0;
+        for (int node = tree.first(); node != NIL; node = tree.next(node)) {
+            assertEquals(expected.get(i++), tree.value(node));
+        }
+        for (int node = tree.last(); node != NIL; node = tree.previous(node)) {
+            assertEquals(expected.get(--i), tree.value(node));
+        }
+    }
+
+    /**
+     * Sizes, heights and parents are right, and no node is off balance by more than one
+     */
+    private static void assertBalanced(PooledAVLTree<?> tree) {
+        assertEquals(NIL, tree.parent(tree.root()));
+        assertEquals(tree.size(), checkSubtree(tree, tree.root()));
+    }
+
+    private static int checkSubtree(PooledAVLTree<?> tree, int node) {
+        if (node == NIL) {
+            return 0;
+        }
+
+        int left = tree.left(node);
+        int right = tree.right(node);
+        if (left != NIL) {
+            assertEquals(node, tree.parent(left));
+        }
+        if (right != NIL) {
+            assertEquals(node, tree.parent(right));
+        }
+
+        int leftSize = checkSubtree(tree, left);
+        int rightSize = checkSubtree(tree, right);
+        assertEquals(leftSize + rightSize + 1, tree.size(node));
+        assertTrue(Math.abs(height(tree, left) - height(tree, right)) <= 1);
+        return tree.size(node);
+    }
+
+    private static int height(PooledAVLTree<?> tree, int node) {
+        return node == NIL ? 0 : Math.max(height(tree, tree.left(node)), height(tree, tree.right(node))) + 1;
+    }
+}
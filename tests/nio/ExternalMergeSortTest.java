@@ -0,0 +1,115 @@
+package nio;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExternalMergeSortTest {
+
+    private static final int RECORD_SIZE = 16;
+    private static final int KEY_SIZE = 3;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void sort_manyRunsAndWindows() throws IOException {
+        byte[] data = randomRecords(20_000, 1);
+        Path input = write(data);
+        Path output = dir.resolve("sorted");
+
+        // ~100 records per run, windows of 10 records
+        new ExternalMergeSort(RECORD_SIZE, KEY_SIZE, 100 * (RECORD_SIZE + 32), dir, 10 * RECORD_SIZE).sort(input, output);
+
+        assertArrayEquals(expected(data), Files.readAllBytes(output));
+        // spill file is gone
+        try (var files = Files.list(dir)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    void sort_fitsInMemory() throws IOException {
+        byte[] data = randomRecords(5_000, 2);
+        Path input = write(data);
+        Path output = dir.resolve("sorted");
+
+        new ExternalMergeSort(RECORD_SIZE, KEY_SIZE, 1 << 20, dir).sort(input, output);
+        assertArrayEquals(expected(data), Files.readAllBytes(output));
+    }
+
+    @Test
+    void sort_lastRunShorter() throws IOException {
+        byte[] data = randomRecords(1_001, 3);
+        Path input = write(data);
+        Path output = dir.resolve("sorted");
+
+        new ExternalMergeSort(RECORD_SIZE, KEY_SIZE, 100 * (RECORD_SIZE + 32), dir, 7 * RECORD_SIZE).sort(input, output);
+        assertArrayEquals(expected(data), Files.readAllBytes(output));
+    }
+
+    @Test
+    void sort_empty() throws IOException {
+        Path input = write(new byte[0]);
+        Path output = dir.resolve("sorted");
+
+        new ExternalMergeSort(RECORD_SIZE, KEY_SIZE, 1 << 20, dir).sort(input, output);
+        assertEquals(0, Files.size(output));
+    }
+
+    @Test
+    void sort_invalid() throws IOException {
+        Path input = write(new byte[RECORD_SIZE + 1]);
+        ExternalMergeSort sort = new ExternalMergeSort(RECORD_SIZE, KEY_SIZE, 1 << 20, dir);
+
+        assertThrows(IllegalArgumentException.class, () -> sort.sort(input, dir.resolve("sorted")));
+        assertThrows(IllegalArgumentException.class, () -> new ExternalMergeSort(RECORD_SIZE, RECORD_SIZE + 1, 1 << 20));
+        assertThrows(IllegalArgumentException.class, () -> new ExternalMergeSort(RECORD_SIZE, KEY_SIZE, RECORD_SIZE));
+    }
+
+    /**
+     * Few distinct keys with high bytes set, so ties and unsigned order both matter.
+     * The rest of each record is its position, to check stability.
+     */
+    private static byte[] randomRecords(int count, long seed) {
+        Random random = new Random(seed);
+        byte[] data = new byte[count * RECORD_SIZE];
+        for (int i = 0; i < count; i++) {
+            int at = i * RECORD_SIZE;
+            data[at] = (byte) (random.nextInt(4) * 100);
+            data[at + 1] = (byte) random.nextInt(3);
+            data[at + 2] = (byte) (random.nextBoolean() ? 0x7F : 0x80);
+            for (int b = 0; b < 4; b++) {
+                data[at + KEY_SIZE + b] = (byte) (i >>> (24 - 8 * b));
+            }
+        }
+        return data;
+    }
+
+    private static byte[] expected(byte[] data) {
+        byte[][] records = new byte[data.length / RECORD_SIZE][];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = Arrays.copyOfRange(data, i * RECORD_SIZE, (i + 1) * RECORD_SIZE);
+        }
+        // Arrays.sort on objects is stable
+        Arrays.sort(records, Comparator.comparing(record -> Arrays.copyOf(record, KEY_SIZE), Arrays::compareUnsigned));
+
+        byte[] sorted = new byte[data.length];
+        for (int i = 0; i < records.length; i++) {
+            System.arraycopy(records[i], 0, sorted, i * RECORD_SIZE, RECORD_SIZE);
+        }
+        return sorted;
+    }
+
+    private Path write(byte[] data) throws IOException {
+        return Files.write(dir.resolve("input"), data);
+    }
+}